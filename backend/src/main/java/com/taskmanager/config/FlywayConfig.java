@@ -0,0 +1,28 @@
+package com.taskmanager.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Lets instances start without migrating ({@code tasks.startup.migrate=false}), e.g. when a
+ * scale-out starts many replicas at once or for the CDS training run. This is a runtime switch on
+ * purpose: {@code spring.flyway.enabled} is a bean condition, fixed at build time in AOT builds.
+ */
+@Configuration
+@Slf4j
+public class FlywayConfig {
+
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(@Value("${tasks.startup.migrate:true}") boolean migrate) {
+        return flyway -> {
+            if (migrate) {
+                flyway.migrate();
+            } else {
+                log.info("Skipping schema migrations at startup (tasks.startup.migrate=false)");
+            }
+        };
+    }
+}
@@ -2,18 +2,57 @@ package com.taskmanager.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 
+/**
+ * JSON stays the default representation. Clients sending {@code Accept: application/x-jackson-smile}
+ * or {@code application/cbor} (and the matching {@code Content-Type} on writes) get the same
+ * {@code ApiResponse} envelope and DTOs in a binary encoding; the converters replace Spring's
+ * defaults of the same type, so they keep their place after JSON in the negotiation order.
+ */
 @Configuration
 public class JacksonConfig {
 
     @Bean
     @Primary
     public ObjectMapper objectMapper() {
-        ObjectMapper mapper = new ObjectMapper();
+        return configure(new ObjectMapper());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter() {
+        return new MappingJackson2SmileHttpMessageConverter(smileObjectMapper());
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter() {
+        return new MappingJackson2CborHttpMessageConverter(cborObjectMapper());
+    }
+
+    /**
+     * Smile back-references repeated property names by default; shared string values are enabled
+     * too, so status names and other short repeated values in a task list are written once.
+     */
+    public ObjectMapper smileObjectMapper() {
+        SmileFactory factory = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        return configure(new ObjectMapper(factory));
+    }
+
+    public ObjectMapper cborObjectMapper() {
+        return configure(new ObjectMapper(new CBORFactory()));
+    }
+
+    private static ObjectMapper configure(ObjectMapper mapper) {
         mapper.registerModule(new JavaTimeModule());
         mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
         return mapper;
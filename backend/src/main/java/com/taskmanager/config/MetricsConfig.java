@@ -0,0 +1,80 @@
+package com.taskmanager.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Application metrics on top of what Spring Boot records by itself ({@code http.server.requests},
+ * {@code spring.data.repository.invocations}, {@code hikaricp.*}): {@code @Timed} service methods
+ * and the number of JDBC statements per request as {@code db.queries.per.request}.
+ * Disable with {@code tasks.metrics.enabled=false}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "tasks.metrics.enabled", matchIfMissing = true)
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public static BeanPostProcessor queryCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof QueryCountingDataSource)) {
+                    return new QueryCountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public OncePerRequestFilter queryCountFilter(MeterRegistry meterRegistry) {
+        return new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                            FilterChain filterChain) throws ServletException, IOException {
+                QueryCountingDataSource.Scope queries = QueryCountingDataSource.count();
+                try (queries) {
+                    filterChain.doFilter(request, response);
+                } finally {
+                    record(request, queries.statements());
+                }
+            }
+
+            // One summary per endpoint, looked up once rather than built and registered on every request
+            private final Map<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+            private void record(HttpServletRequest request, int count) {
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                String method = request.getMethod();
+                String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+                summaries.computeIfAbsent(method + ' ' + uri, key -> DistributionSummary.builder("db.queries.per.request")
+                                .description("JDBC statements issued while handling a request")
+                                .tag("method", method)
+                                .tag("uri", uri)
+                                .register(meterRegistry))
+                        .record(count);
+            }
+        };
+    }
+}
@@ -0,0 +1,83 @@
+package com.taskmanager.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Set;
+
+/**
+ * Counts JDBC statements prepared on the current thread while a count is open, covering both
+ * Hibernate and the {@code JdbcTemplate} repository fragments. A batched statement counts once.
+ */
+public class QueryCountingDataSource extends DelegatingDataSource {
+
+    private static final Set<String> STATEMENT_METHODS = Set.of("prepareStatement", "prepareCall", "createStatement");
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    public QueryCountingDataSource(DataSource target) {
+        super(target);
+    }
+
+    /**
+     * Starts a fresh count on this thread, ended by closing the returned scope.
+     */
+    public static Scope count() {
+        Scope scope = new Scope(COUNT.get());
+        COUNT.set(scope.count);
+        return scope;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return counting(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return counting(super.getConnection(username, password));
+    }
+
+    private static Connection counting(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(QueryCountingDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    if (STATEMENT_METHODS.contains(method.getName())) {
+                        int[] count = COUNT.get();
+                        if (count != null) {
+                            count[0]++;
+                        }
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final int[] count = new int[1];
+        private final int[] outer;
+
+        private Scope(int[] outer) {
+            this.outer = outer;
+        }
+
+        public int statements() {
+            return count[0];
+        }
+
+        @Override
+        public void close() {
+            if (outer == null) {
+                COUNT.remove();
+            } else {
+                COUNT.set(outer);
+            }
+        }
+    }
+}
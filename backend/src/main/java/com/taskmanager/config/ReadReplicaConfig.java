@@ -0,0 +1,97 @@
+package com.taskmanager.config;
+
+import com.taskmanager.service.ReadYourWrites;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Read replicas listed in {@code tasks.datasource.replicas} (comma-separated JDBC URLs, same
+ * credentials as the primary). When set, the primary pool is wrapped in a
+ * {@link ReplicaRoutingDataSource} behind a {@link LazyConnectionDataSourceProxy}, and each replica
+ * gets a read-only pool sized like the primary's and named {@code replica-N} in the
+ * {@code hikaricp.*} meters. This is a runtime switch, like {@code tasks.startup.migrate}, so AOT
+ * builds can turn it on. Ordered ahead of the query-counting wrapper so replica statements are
+ * counted too.
+ */
+@Configuration
+@Slf4j
+public class ReadReplicaConfig {
+
+    @Bean
+    public static BeanPostProcessor replicaRoutingPostProcessor(Environment environment,
+                                                                ObjectProvider<ReadYourWrites> readYourWrites,
+                                                                ObjectProvider<MeterRegistry> meterRegistry) {
+        return new OrderedPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                String replicaUrls = environment.getProperty("tasks.datasource.replicas", "");
+                if (!(bean instanceof HikariDataSource primary) || replicaUrls.isBlank()) {
+                    return bean;
+                }
+                return route(primary, StringUtils.commaDelimitedListToStringArray(replicaUrls), environment,
+                        readYourWrites.getObject(), meterRegistry.getObject());
+            }
+        };
+    }
+
+    private static DataSource route(HikariDataSource primary, String[] replicaUrls, Environment environment,
+                                    ReadYourWrites readYourWrites, MeterRegistry meterRegistry) {
+        long connectionTimeout = environment.getProperty("tasks.datasource.replica-connection-timeout-ms",
+                Long.class, 1000L);
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < replicaUrls.length; i++) {
+            HikariConfig config = new HikariConfig();
+            primary.copyStateTo(config);
+            config.setJdbcUrl(replicaUrls[i].trim());
+            config.setPoolName("replica-" + (i + 1));
+            config.setReadOnly(true);
+            // Fail over to the primary quickly, and start even if a replica is down
+            config.setConnectionTimeout(connectionTimeout);
+            config.setInitializationFailTimeout(-1);
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.put(config.getPoolName(), new HikariDataSource(config));
+        }
+        log.info("Routing read-only transactions to {} replica(s)", replicas.size());
+
+        String lagQuery = environment.getProperty("tasks.datasource.lag-query", "");
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replicas,
+                readYourWrites::pinnedToPrimary,
+                lagQuery.isBlank() ? null : lagQuery,
+                Duration.ofMillis(environment.getProperty("tasks.datasource.max-lag-ms", Long.class, 2000L)),
+                Duration.ofMillis(environment.getProperty("tasks.datasource.health-interval-ms", Long.class, 5000L)),
+                meterRegistry);
+
+        // Defaults given up front so the proxy never opens a connection just to learn them
+        LazyConnectionDataSourceProxy lazy = new LazyConnectionDataSourceProxy();
+        lazy.setDefaultAutoCommit(primary.isAutoCommit());
+        lazy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        lazy.setTargetDataSource(routing);
+        lazy.afterPropertiesSet();
+        return lazy;
+    }
+
+    private abstract static class OrderedPostProcessor implements BeanPostProcessor, Ordered {
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
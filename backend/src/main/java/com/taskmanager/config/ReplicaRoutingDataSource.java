@@ -0,0 +1,206 @@
+package com.taskmanager.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Sends connections for read-only transactions to healthy replicas in turn and everything else to
+ * the primary. It decides when the connection is first used, so it must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: only then has the
+ * transaction manager marked the transaction read-only. Reads of a user who wrote recently
+ * ({@code pinnedToPrimary}) also stay on the primary.
+ * <p>
+ * A replica serves reads only once a health check succeeds and its lag is within bounds. A replica
+ * that fails to hand out a connection is taken out until the next check passes and the read is
+ * served by the primary. Connections are counted as {@code db.routing.connections} by
+ * {@code target} and {@code reason}.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final BooleanSupplier pinnedToPrimary;
+    private final String lagQuery;
+    private final double maxLagSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService healthChecks;
+    private final Counter writes;
+    private final Counter recentWrites;
+    private final Counter failovers;
+
+    /**
+     * @param replicas        replica pools by name, used as the {@code target} tag
+     * @param pinnedToPrimary true while the current reader must see its own writes
+     * @param lagQuery        returns replication lag in seconds; null to only check connectivity
+     */
+    public ReplicaRoutingDataSource(DataSource primary,
+                                    Map<String, DataSource> replicas,
+                                    BooleanSupplier pinnedToPrimary,
+                                    String lagQuery,
+                                    Duration maxLag,
+                                    Duration healthInterval,
+                                    MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.pinnedToPrimary = pinnedToPrimary;
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLag.toMillis() / 1000d;
+        this.writes = connections(meterRegistry, PRIMARY, "write");
+        this.recentWrites = connections(meterRegistry, PRIMARY, "recent-write");
+        this.failovers = connections(meterRegistry, PRIMARY, "failover");
+        replicas.forEach((name, dataSource) -> {
+            Replica replica = new Replica(name, dataSource, connections(meterRegistry, name, "read"));
+            Gauge.builder("db.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .description("Whether the replica currently serves reads")
+                    .tag("target", name)
+                    .register(meterRegistry);
+            Gauge.builder("db.replica.lag", replica, r -> r.lagSeconds)
+                    .description("Replication lag seen by the last health check")
+                    .tag("target", name)
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+            this.replicas.add(replica);
+        });
+
+        this.healthChecks = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Replicas start out of rotation; the first check runs right away
+        healthChecks.scheduleWithFixedDelay(this::checkHealth, 0, healthInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            writes.increment();
+            return primary.getConnection();
+        }
+        if (pinnedToPrimary.getAsBoolean()) {
+            recentWrites.increment();
+            return primary.getConnection();
+        }
+        int start = next.getAndIncrement();
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get(Math.floorMod(start + i, replicas.size()));
+            if (replica.healthy) {
+                try {
+                    Connection connection = replica.dataSource.getConnection();
+                    replica.reads.increment();
+                    return connection;
+                } catch (SQLException e) {
+                    replica.markDown(e);
+                }
+            }
+        }
+        failovers.increment();
+        return primary.getConnection();
+    }
+
+    /**
+     * Explicit credentials bypass routing.
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        writes.increment();
+        return primary.getConnection(username, password);
+    }
+
+    /**
+     * Unwraps to the primary pool, so pool metrics and health indicators still find it.
+     */
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return iface.isInstance(this) ? iface.cast(this) : primary.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || primary.isWrapperFor(iface);
+    }
+
+    void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                double lag = lagQuery != null ? queryLag(connection) : 0;
+                replica.lagSeconds = lag;
+                if (lag > maxLagSeconds) {
+                    replica.markDown("lag " + lag + "s");
+                } else if (!replica.healthy) {
+                    log.info("Replica {} is serving reads", replica.name);
+                    replica.healthy = true;
+                }
+            } catch (SQLException | RuntimeException e) {
+                replica.markDown(e);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        healthChecks.shutdownNow();
+    }
+
+    private double queryLag(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery(lagQuery)) {
+            return result.next() ? result.getDouble(1) : 0;
+        }
+    }
+
+    private static Counter connections(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter.builder("db.routing.connections")
+                .description("Connections handed out, by database and routing reason")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private final Counter reads;
+        private volatile boolean healthy;
+        private volatile double lagSeconds = Double.NaN;
+
+        private Replica(String name, DataSource dataSource, Counter reads) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.reads = reads;
+        }
+
+        private void markDown(Exception e) {
+            markDown(e.getMessage());
+        }
+
+        private void markDown(String reason) {
+            if (healthy) {
+                log.warn("Replica {} taken out of rotation: {}", name, reason);
+                healthy = false;
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.taskmanager.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.cache.CacheManager;
+import javax.cache.spi.CachingProvider;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caffeine-backed JCache regions for the Hibernate second-level cache. Every region is created up
+ * front with a size bound and a time-to-live ({@code tasks.cache.<region>.max-entries} and
+ * {@code .ttl-ms}); the TTL also bounds staleness for writes committed by other nodes. Per-region
+ * hits, misses and evictions are published as {@code cache.*} meters tagged with {@code cache=<region>}.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    // Region names as used in the @Cache and @NaturalIdCache annotations on the entities
+    private static final Map<String, Region> REGIONS = Map.of(
+            "tasks", new Region(50_000, 600_000),
+            "users", new Region(10_000, 600_000),
+            "users-by-username", new Region(10_000, 600_000),
+            "user-tasks", new Region(10_000, 600_000));
+
+    // Not the provider from Caching.getCachingProvider(): each application context gets its own caches
+    @Bean(destroyMethod = "close")
+    public CachingProvider hibernateCachingProvider() {
+        return new CaffeineCachingProvider();
+    }
+
+    @Bean
+    public CacheManager hibernateCacheManager(CachingProvider hibernateCachingProvider, Environment environment) {
+        CacheManager cacheManager = hibernateCachingProvider.getCacheManager();
+        REGIONS.forEach((name, defaults) -> {
+            String prefix = "tasks.cache." + name;
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(
+                    environment.getProperty(prefix + ".max-entries", Long.class, defaults.maxEntries())));
+            configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.MILLISECONDS.toNanos(
+                    environment.getProperty(prefix + ".ttl-ms", Long.class, defaults.ttlMillis()))));
+            // Caffeine's own counters, read directly by the meters; JCache statistics would go through JMX
+            configuration.setNativeStatisticsEnabled(true);
+            cacheManager.createCache(name, configuration);
+        });
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(CacheManager hibernateCacheManager) {
+        return registry -> REGIONS.keySet().forEach(name -> CaffeineCacheMetrics.monitor(registry,
+                hibernateCacheManager.getCache(name).unwrap(Cache.class), name));
+    }
+
+    private record Region(long maxEntries, long ttlMillis) {
+    }
+}
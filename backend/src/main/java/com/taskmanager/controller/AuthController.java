@@ -3,6 +3,8 @@ package com.taskmanager.controller;
 import com.taskmanager.dto.ApiResponse;
 import com.taskmanager.dto.AuthRequestDto;
 import com.taskmanager.dto.AuthResponseDto;
+import com.taskmanager.dto.RefreshRequestDto;
+import com.taskmanager.security.UserPrincipal;
 import com.taskmanager.service.AuthService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -10,6 +12,7 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -34,4 +37,20 @@ public class AuthController {
         AuthResponseDto response = authService.login(request);
         return ResponseEntity.ok(ApiResponse.success(response, "Login successful"));
     }
+
+    @PostMapping("/refresh")
+    @Operation(summary = "Exchange a refresh token for a new access and refresh token")
+    public ResponseEntity<ApiResponse<AuthResponseDto>> refresh(@Valid @RequestBody RefreshRequestDto request) {
+        AuthResponseDto response = authService.refresh(request.getRefreshToken());
+        return ResponseEntity.ok(ApiResponse.success(response, "Token refreshed"));
+    }
+
+    @PostMapping("/logout")
+    @Operation(summary = "Revoke the refresh token and the current access token")
+    public ResponseEntity<ApiResponse<Void>> logout(@RequestBody(required = false) RefreshRequestDto request,
+                                                    @AuthenticationPrincipal UserPrincipal principal) {
+        authService.logout(request != null ? request.getRefreshToken() : null,
+                principal != null ? principal.getTokenId() : null);
+        return ResponseEntity.ok(ApiResponse.success(null, "Logged out"));
+    }
 }
@@ -0,0 +1,185 @@
+package com.taskmanager.controller;
+
+import com.taskmanager.dto.TaskDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Strong ETags for task reads. Collection and stats tags carry the per-user task version;
+ * task tags carry the task ID and additionally the task's own row version, so a task that did not
+ * change still revalidates after unrelated mutations bumped the user version, and the same tag can
+ * be sent back in {@code If-Match} on writes. Tags do not depend on the negotiated format, so responses
+ * vary by {@code Accept} to keep a cached JSON body from answering a Smile or CBOR request.
+ */
+@Component
+public class ConditionalGetSupport {
+
+    static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+    private static final long UNMATCHABLE_VERSION = -1L;
+
+    private static final List<String> ENDPOINTS = List.of("list", "detail", "stats");
+
+    private final Map<String, Counter> notModifiedCounters = new HashMap<>();
+    private final Map<String, Counter> fullCounters = new HashMap<>();
+
+    public ConditionalGetSupport(MeterRegistry meterRegistry) {
+        for (String endpoint : ENDPOINTS) {
+            notModifiedCounters.put(endpoint, counter(meterRegistry, endpoint, "not_modified"));
+            fullCounters.put(endpoint, counter(meterRegistry, endpoint, "full"));
+        }
+    }
+
+    public String collectionTag(String resource, long userVersion) {
+        return "\"" + resource + "-" + userVersion + "\"";
+    }
+
+    public String taskTag(long userVersion, TaskDto task) {
+        return taskPrefix(task.getId()) + userVersion + "-" + stamp(task) + "\"";
+    }
+
+    /**
+     * Tag for a task returned by a write. The user version at commit time is not known here, so the
+     * tag carries only the row version and revalidates by loading the task.
+     */
+    public String taskTag(TaskDto task) {
+        return taskPrefix(task.getId()) + stamp(task) + "\"";
+    }
+
+    /**
+     * @return true if any entity tag in {@code ifNoneMatch} equals {@code etag}
+     */
+    public boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Finds a tag for this task issued under the current user version, which proves the task is
+     * unchanged without loading it.
+     *
+     * @return the matching tag, or null
+     */
+    public String findTaskTag(String ifNoneMatch, UUID taskId, long userVersion) {
+        if (ifNoneMatch == null) {
+            return null;
+        }
+        String prefix = taskPrefix(taskId) + userVersion + "-";
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith(prefix)) {
+                return tag;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Extracts the task row version a write is conditioned on. Accepts a tag for this task as
+     * returned by GET or a write, or a bare version number.
+     *
+     * @return the expected version, or null when the header is absent or {@code *}
+     */
+    public Long expectedVersion(String ifMatch, UUID taskId) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.split(",")[0].trim();
+        if (tag.startsWith("\"") && tag.endsWith("\"") && tag.length() > 1) {
+            tag = tag.substring(1, tag.length() - 1);
+        }
+        if (tag.startsWith("task-")) {
+            if (!tag.startsWith("task-" + taskId + "-")) {
+                // A tag of another task
+                return UNMATCHABLE_VERSION;
+            }
+            tag = tag.substring(tag.lastIndexOf('-') + 1);
+        }
+        try {
+            return Long.parseLong(tag);
+        } catch (NumberFormatException e) {
+            // Weak or foreign tags can never match the current representation
+            return UNMATCHABLE_VERSION;
+        }
+    }
+
+    /**
+     * Matches a tag for this task by the task's own stamp, ignoring the user version it was issued
+     * under.
+     */
+    public boolean matchesTaskStamp(String ifNoneMatch, TaskDto task) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String prefix = taskPrefix(task.getId());
+        String suffix = "-" + stamp(task) + "\"";
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith(prefix) && tag.endsWith(suffix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public <T> ResponseEntity<T> notModified(String endpoint, String etag) {
+        count(notModifiedCounters, endpoint);
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(CACHE_CONTROL)
+                .varyBy(HttpHeaders.ACCEPT)
+                .build();
+    }
+
+    public <T> ResponseEntity<T> ok(String endpoint, String etag, T body) {
+        count(fullCounters, endpoint);
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CACHE_CONTROL)
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(body);
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String endpoint, String result) {
+        return Counter.builder("http.conditional.requests")
+                .description("Conditional GETs on task endpoints by outcome")
+                .tag("endpoint", endpoint)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static void count(Map<String, Counter> counters, String endpoint) {
+        Counter counter = counters.get(endpoint);
+        if (counter == null) {
+            throw new IllegalArgumentException("Unknown endpoint: " + endpoint);
+        }
+        counter.increment();
+    }
+
+    // The task ID is a UUID, so the version after the last '-' is still unambiguous
+    private static String taskPrefix(UUID taskId) {
+        return "\"task-" + taskId + "-";
+    }
+
+    private static String stamp(TaskDto task) {
+        return String.valueOf(task.getVersion() != null ? task.getVersion() : 0L);
+    }
+}
@@ -1,20 +1,34 @@
 package com.taskmanager.controller;
 
 import com.taskmanager.dto.ApiResponse;
+import com.taskmanager.dto.TaskBatchRequestDto;
+import com.taskmanager.dto.TaskBatchResultDto;
+import com.taskmanager.dto.TaskChangesDto;
 import com.taskmanager.dto.TaskDto;
+import com.taskmanager.dto.TaskPageDto;
 import com.taskmanager.dto.TaskStatsDto;
 import com.taskmanager.dto.TaskStatusUpdateDto;
 import com.taskmanager.security.UserPrincipal;
+import com.taskmanager.service.TaskEventBus;
+import com.taskmanager.service.TaskExportFormat;
+import com.taskmanager.service.TaskExportService;
 import com.taskmanager.service.TaskService;
+import com.taskmanager.service.TaskVersionService;
+import com.taskmanager.service.TaskVersionService.Versioned;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.UUID;
@@ -27,22 +41,102 @@ import java.util.UUID;
 public class TaskController {
 
     private final TaskService taskService;
+    private final TaskExportService taskExportService;
+    private final TaskVersionService taskVersionService;
+    private final ConditionalGetSupport conditionalGet;
+    private final TaskEventBus taskEventBus;
 
     @GetMapping
     @Operation(summary = "Get all tasks for the authenticated user")
     public ResponseEntity<ApiResponse<List<TaskDto>>> getAllTasks(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
             @AuthenticationPrincipal UserPrincipal principal) {
-        List<TaskDto> tasks = taskService.getAllTasks(principal.getUserId());
-        return ResponseEntity.ok(ApiResponse.success(tasks));
+        UUID userId = principal.getUserId();
+        String etag = conditionalGet.collectionTag("tasks", taskVersionService.currentVersion(userId));
+        if (conditionalGet.matches(ifNoneMatch, etag)) {
+            return conditionalGet.notModified("list", etag);
+        }
+        // The body is tagged with the version read alongside it, which a concurrent write or a lagging
+        // replica can only make older than the body, never newer
+        Versioned<List<TaskDto>> tasks = taskVersionService.readVersioned(userId, () -> taskService.getAllTasks(userId));
+        return conditionalGet.ok("list", conditionalGet.collectionTag("tasks", tasks.version()),
+                ApiResponse.success(tasks.body()));
+    }
+
+    @GetMapping(params = "limit")
+    @Operation(summary = "Get a page of tasks for the authenticated user using a keyset cursor")
+    public ResponseEntity<ApiResponse<TaskPageDto>> getTaskPage(
+            @RequestParam int limit,
+            @RequestParam(required = false) String cursor,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        TaskPageDto page = taskService.getTaskPage(principal.getUserId(), cursor, limit);
+        return ResponseEntity.ok(ApiResponse.success(page));
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Full-text search over task title and description, best match first")
+    public ResponseEntity<ApiResponse<TaskPageDto>> searchTasks(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) String cursor,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        TaskPageDto page = taskService.searchTasks(principal.getUserId(), query, cursor, limit);
+        return ResponseEntity.ok(ApiResponse.success(page));
+    }
+
+    @GetMapping("/changes")
+    @Operation(summary = "Tasks changed and IDs deleted since a sync token; resync=true asks for a full reload")
+    public ResponseEntity<ApiResponse<TaskChangesDto>> getChanges(
+            @RequestParam(required = false) String since,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        TaskChangesDto changes = taskService.getChanges(principal.getUserId(), since);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(ApiResponse.success(changes));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Stream all tasks of the authenticated user as NDJSON or CSV")
+    public ResponseEntity<StreamingResponseBody> exportTasks(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        TaskExportFormat exportFormat = TaskExportFormat.from(format);
+        UUID userId = principal.getUserId();
+        StreamingResponseBody body = out -> taskExportService.export(userId, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"tasks." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream committed task changes as server-sent events; refetch on 'resync'")
+    public ResponseEntity<SseEmitter> streamTasks(@AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CACHE_CONTROL, "no-cache")
+                .header("X-Accel-Buffering", "no")  // keep nginx from buffering the stream
+                .body(taskEventBus.subscribe(principal.getUserId()));
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get a task by ID")
     public ResponseEntity<ApiResponse<TaskDto>> getTaskById(
             @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
             @AuthenticationPrincipal UserPrincipal principal) {
-        TaskDto task = taskService.getTaskById(id, principal.getUserId());
-        return ResponseEntity.ok(ApiResponse.success(task));
+        UUID userId = principal.getUserId();
+        String unchangedTag = conditionalGet.findTaskTag(ifNoneMatch, id,
+                taskVersionService.currentVersion(userId));
+        if (unchangedTag != null) {
+            return conditionalGet.notModified("detail", unchangedTag);
+        }
+        Versioned<TaskDto> task = taskVersionService.readVersioned(userId, () -> taskService.getTaskById(id, userId));
+        String etag = conditionalGet.taskTag(task.version(), task.body());
+        if (conditionalGet.matchesTaskStamp(ifNoneMatch, task.body())) {
+            return conditionalGet.notModified("detail", etag);
+        }
+        return conditionalGet.ok("detail", etag, ApiResponse.success(task.body()));
     }
 
     @PostMapping
@@ -56,23 +150,31 @@ public class TaskController {
     }
 
     @PutMapping("/{id}")
-    @Operation(summary = "Update a task")
+    @Operation(summary = "Update a task, optionally conditioned on If-Match")
     public ResponseEntity<ApiResponse<TaskDto>> updateTask(
             @PathVariable UUID id,
             @Valid @RequestBody TaskDto taskDto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @AuthenticationPrincipal UserPrincipal principal) {
-        TaskDto updatedTask = taskService.updateTask(id, taskDto, principal.getUserId());
-        return ResponseEntity.ok(ApiResponse.success(updatedTask, "Task updated successfully"));
+        TaskDto updatedTask = taskService.updateTask(id, taskDto, principal.getUserId(),
+                conditionalGet.expectedVersion(ifMatch, id));
+        return ResponseEntity.ok()
+                .eTag(conditionalGet.taskTag(updatedTask))
+                .body(ApiResponse.success(updatedTask, "Task updated successfully"));
     }
 
     @PatchMapping("/{id}/status")
-    @Operation(summary = "Update task status only")
+    @Operation(summary = "Update task status only, optionally conditioned on If-Match")
     public ResponseEntity<ApiResponse<TaskDto>> updateTaskStatus(
             @PathVariable UUID id,
             @Valid @RequestBody TaskStatusUpdateDto statusDto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @AuthenticationPrincipal UserPrincipal principal) {
-        TaskDto updatedTask = taskService.updateTaskStatus(id, statusDto.getStatus(), principal.getUserId());
-        return ResponseEntity.ok(ApiResponse.success(updatedTask, "Task status updated successfully"));
+        TaskDto updatedTask = taskService.updateTaskStatus(id, statusDto.getStatus(), principal.getUserId(),
+                conditionalGet.expectedVersion(ifMatch, id));
+        return ResponseEntity.ok()
+                .eTag(conditionalGet.taskTag(updatedTask))
+                .body(ApiResponse.success(updatedTask, "Task status updated successfully"));
     }
 
     @DeleteMapping("/{id}")
@@ -84,11 +186,27 @@ public class TaskController {
         return ResponseEntity.ok(ApiResponse.success(null, "Task deleted successfully"));
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Apply a batch of create, update, status and delete operations in one transaction")
+    public ResponseEntity<ApiResponse<List<TaskBatchResultDto>>> applyBatch(
+            @Valid @RequestBody TaskBatchRequestDto request,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        List<TaskBatchResultDto> results = taskService.applyBatch(request.getOperations(), principal.getUserId());
+        return ResponseEntity.ok(ApiResponse.success(results, "Batch applied"));
+    }
+
     @GetMapping("/stats")
     @Operation(summary = "Get task statistics by status")
     public ResponseEntity<ApiResponse<TaskStatsDto>> getTaskStats(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
             @AuthenticationPrincipal UserPrincipal principal) {
-        TaskStatsDto stats = taskService.getTaskStats(principal.getUserId());
-        return ResponseEntity.ok(ApiResponse.success(stats));
+        UUID userId = principal.getUserId();
+        String etag = conditionalGet.collectionTag("stats", taskVersionService.currentVersion(userId));
+        if (conditionalGet.matches(ifNoneMatch, etag)) {
+            return conditionalGet.notModified("stats", etag);
+        }
+        Versioned<TaskStatsDto> stats = taskVersionService.readVersioned(userId, () -> taskService.getTaskStats(userId));
+        return conditionalGet.ok("stats", conditionalGet.collectionTag("stats", stats.version()),
+                ApiResponse.success(stats.body()));
     }
 }
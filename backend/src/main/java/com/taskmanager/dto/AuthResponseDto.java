@@ -12,5 +12,8 @@ import lombok.NoArgsConstructor;
 public class AuthResponseDto {
 
     private String token;
+    private String refreshToken;
+    // Access token lifetime in seconds
+    private Long expiresIn;
     private String username;
 }
@@ -0,0 +1,15 @@
+package com.taskmanager.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshRequestDto {
+
+    @NotBlank(message = "Refresh token is required")
+    private String refreshToken;
+}
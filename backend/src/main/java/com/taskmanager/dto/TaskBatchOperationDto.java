@@ -0,0 +1,35 @@
+package com.taskmanager.dto;
+
+import com.taskmanager.entity.TaskStatus;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskBatchOperationDto {
+
+    public enum Type {
+        CREATE,
+        UPDATE,
+        STATUS,
+        DELETE
+    }
+
+    @NotNull(message = "Operation type is required")
+    private Type type;
+
+    private UUID id;
+
+    @Valid
+    private TaskDto task;
+
+    private TaskStatus status;
+}
@@ -0,0 +1,19 @@
+package com.taskmanager.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskBatchRequestDto {
+
+    @NotEmpty(message = "At least one operation is required")
+    @Valid
+    private List<TaskBatchOperationDto> operations;
+}
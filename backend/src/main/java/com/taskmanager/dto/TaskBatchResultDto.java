@@ -0,0 +1,24 @@
+package com.taskmanager.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskBatchResultDto {
+
+    private int index;
+    private TaskBatchOperationDto.Type type;
+    private boolean success;
+    private UUID id;
+    private TaskDto task;
+    private ApiResponse.ErrorDetails error;
+}
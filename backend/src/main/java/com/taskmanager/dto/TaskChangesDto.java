@@ -0,0 +1,22 @@
+package com.taskmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskChangesDto {
+
+    private List<TaskDto> changed;
+    private List<UUID> deleted;
+    private String token;
+    // The token is too old or unknown: reload all tasks, then continue from this response's token
+    private boolean resync;
+}
@@ -31,4 +31,6 @@ public class TaskDto {
     private LocalDateTime createdAt;
 
     private LocalDateTime updatedAt;
+
+    private Long version;
 }
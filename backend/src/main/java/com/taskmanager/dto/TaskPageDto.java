@@ -0,0 +1,19 @@
+package com.taskmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskPageDto {
+
+    private List<TaskDto> items;
+    private String nextCursor;
+    private boolean hasMore;
+}
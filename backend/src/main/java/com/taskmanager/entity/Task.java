@@ -5,18 +5,24 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
+// Columns and indexes: db/migration
 @Table(name = "tasks")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "tasks")
 public class Task {
 
     @Id
@@ -30,6 +36,8 @@ public class Task {
     private String description;
 
     @Enumerated(EnumType.STRING)
+    // A varchar column, as migrated, rather than the dialect's native enum type
+    @JdbcTypeCode(SqlTypes.VARCHAR)
     @Column(nullable = false)
     @Builder.Default
     private TaskStatus status = TaskStatus.TODO;
@@ -42,6 +50,15 @@ public class Task {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Left null on new tasks so Spring Data treats them as new; Hibernate starts it at 0 on insert
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
+    // The owner's tasks_version when this task last changed; delta sync reads rows above a client's token
+    @Column(name = "change_seq", nullable = false)
+    private long changeSeq;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
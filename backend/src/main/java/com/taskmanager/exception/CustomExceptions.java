@@ -10,6 +10,12 @@ public class CustomExceptions {
         }
     }
 
+    public static class TaskVersionMismatchException extends RuntimeException {
+        public TaskVersionMismatchException(UUID id) {
+            super("Task with ID " + id + " was modified by another request");
+        }
+    }
+
     public static class UserNotFoundException extends RuntimeException {
         public UserNotFoundException(String username) {
             super("User with username '" + username + "' not found");
@@ -34,6 +40,19 @@ public class CustomExceptions {
         }
     }
 
+    public static class TooManyRequestsException extends RuntimeException {
+        private final long retryAfterSeconds;
+
+        public TooManyRequestsException(String message, long retryAfterSeconds) {
+            super(message);
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+
+        public long getRetryAfterSeconds() {
+            return retryAfterSeconds;
+        }
+    }
+
     public static class InvalidCredentialsException extends RuntimeException {
         public InvalidCredentialsException() {
             super("Invalid username or password");
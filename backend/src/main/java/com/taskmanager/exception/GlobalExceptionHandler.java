@@ -3,6 +3,7 @@ package com.taskmanager.exception;
 import com.taskmanager.dto.ApiResponse;
 import com.taskmanager.exception.CustomExceptions.*;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -24,6 +25,13 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.error("TASK_NOT_FOUND", ex.getMessage()));
     }
 
+    @ExceptionHandler(TaskVersionMismatchException.class)
+    public ResponseEntity<ApiResponse<Void>> handleTaskVersionMismatch(TaskVersionMismatchException ex) {
+        log.warn("Task version mismatch: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                .body(ApiResponse.error("PRECONDITION_FAILED", ex.getMessage()));
+    }
+
     @ExceptionHandler(UserNotFoundException.class)
     public ResponseEntity<ApiResponse<Void>> handleUserNotFound(UserNotFoundException ex) {
         log.warn("User not found: {}", ex.getMessage());
@@ -52,6 +60,14 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.error("UNAUTHORIZED", ex.getMessage()));
     }
 
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ApiResponse<Void>> handleTooManyRequests(TooManyRequestsException ex) {
+        log.warn("Request refused: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(ApiResponse.error("TOO_MANY_REQUESTS", ex.getMessage()));
+    }
+
     @ExceptionHandler({InvalidCredentialsException.class, BadCredentialsException.class})
     public ResponseEntity<ApiResponse<Void>> handleInvalidCredentials(Exception ex) {
         log.warn("Invalid credentials attempt");
@@ -0,0 +1,27 @@
+package com.taskmanager.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import javax.sql.DataSource;
+
+/**
+ * Picks between PostgreSQL-specific SQL and portable fallbacks used by the H2 test profile.
+ */
+@Slf4j
+final class DatabaseProduct {
+
+    private DatabaseProduct() {
+    }
+
+    static boolean isPostgres(DataSource dataSource) {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(dataSource, metaData -> metaData.getDatabaseProductName());
+            return "PostgreSQL".equalsIgnoreCase(product);
+        } catch (MetaDataAccessException e) {
+            log.warn("Could not determine database product, using portable SQL", e);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.entity.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID> {
+
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    /**
+     * Marks a token as used; only one of several concurrent refreshes with the same token gets 1.
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.rotatedAt = :now " +
+            "WHERE r.id = :id AND r.rotatedAt IS NULL AND r.revoked = false")
+    int markRotated(@Param("id") UUID id, @Param("now") Instant now);
+
+    // Access tokens issued before issuedAfter have expired and need no revocation
+    @Query("SELECT r.accessTokenId FROM RefreshToken r " +
+            "WHERE r.familyId = :familyId AND r.revoked = false AND r.createdAt > :issuedAfter")
+    List<UUID> findActiveAccessTokenIds(@Param("familyId") UUID familyId, @Param("issuedAfter") Instant issuedAfter);
+
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.revoked = true WHERE r.familyId = :familyId AND r.revoked = false")
+    int revokeFamily(@Param("familyId") UUID familyId);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
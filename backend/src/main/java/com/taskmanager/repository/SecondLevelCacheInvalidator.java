@@ -0,0 +1,58 @@
+package com.taskmanager.repository;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.cache.spi.access.CachedDomainDataAccess;
+import org.hibernate.cache.spi.access.CollectionDataAccess;
+import org.hibernate.cache.spi.access.EntityDataAccess;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.EntityPersister;
+
+/**
+ * Invalidates second-level cache entries for rows written with plain JDBC, which Hibernate does not
+ * see. Each entry is soft-locked for the rest of the current transaction, the same way Hibernate
+ * handles its own updates: readers fall through to the database until commit, and a reader that
+ * loaded the old row cannot put it back afterwards. Must be called inside the writing transaction.
+ */
+class SecondLevelCacheInvalidator {
+
+    private final EntityManager entityManager;
+
+    SecondLevelCacheInvalidator(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    void invalidateEntity(Class<?> entityType, Object id) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        SessionFactoryImplementor factory = session.getFactory();
+        EntityPersister persister = factory.getMappingMetamodel().getEntityDescriptor(entityType);
+        if (!persister.canWriteToCache()) {
+            return;
+        }
+        EntityDataAccess access = persister.getCacheAccessStrategy();
+        lockUntilCompletion(session, access,
+                access.generateCacheKey(id, persister, factory, session.getTenantIdentifier()));
+    }
+
+    void invalidateCollection(String role, Object ownerId) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        SessionFactoryImplementor factory = session.getFactory();
+        CollectionPersister persister = factory.getMappingMetamodel().getCollectionDescriptor(role);
+        if (!persister.hasCache()) {
+            return;
+        }
+        CollectionDataAccess access = persister.getCacheAccessStrategy();
+        lockUntilCompletion(session, access,
+                access.generateCacheKey(ownerId, persister, factory, session.getTenantIdentifier()));
+    }
+
+    private static void lockUntilCompletion(SessionImplementor session, CachedDomainDataAccess access, Object key) {
+        SoftLock lock = access.lockItem(session, key, null);
+        // Runs on commit and rollback alike; unlocking leaves the entry empty for the next load
+        session.getActionQueue().registerProcess((AfterTransactionCompletionProcess) (success, completedSession) ->
+                access.unlockItem(completedSession, key, lock));
+    }
+}
@@ -0,0 +1,29 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.entity.TaskCounter;
+import com.taskmanager.entity.TaskStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface TaskCounterRepository extends JpaRepository<TaskCounter, TaskCounter.Key> {
+
+    List<TaskCounter> findByUserId(UUID userId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM TaskCounter c WHERE c.userId = :userId ORDER BY c.status")
+    List<TaskCounter> lockByUserId(@Param("userId") UUID userId);
+
+    @Modifying
+    @Query("UPDATE TaskCounter c SET c.taskCount = c.taskCount + :delta " +
+            "WHERE c.userId = :userId AND c.status = :status")
+    int adjust(@Param("userId") UUID userId, @Param("status") TaskStatus status, @Param("delta") long delta);
+}
@@ -0,0 +1,59 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.dto.TaskDto;
+import com.taskmanager.entity.TaskStatus;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Single-statement task writes that report what they replaced, so callers can keep the status
+ * counters in step without reading the row first. Each write invalidates only the second-level
+ * cache entries it touched, where a bulk JPQL update would empty the whole region. Updates and
+ * deletes lock only the task row; the caller then takes the delta sync change sequence and records
+ * it with {@link #recordChange} or {@link #recordDeletes}.
+ */
+public interface TaskMutationRepository {
+
+    /**
+     * Sets the status of a task owned by {@code userId}, optionally only if it is still at
+     * {@code expectedVersion}.
+     *
+     * @return the updated task and the status it had before, or empty if no row matched
+     */
+    Optional<StatusUpdate> updateStatusReturning(UUID id, UUID userId, TaskStatus status,
+                                                 Long expectedVersion, LocalDateTime updatedAt);
+
+    /**
+     * Replaces title, description and, if given, status of a task owned by {@code userId}, optionally
+     * only if it is still at {@code expectedVersion}: a compare-and-set that locks nothing before the
+     * write.
+     *
+     * @return the updated task and the status it had before, or empty if no row matched or the
+     *         version was stale
+     */
+    Optional<StatusUpdate> updateReturning(UUID id, UUID userId, Long expectedVersion, String title,
+                                           String description, TaskStatus status, LocalDateTime updatedAt);
+
+    /**
+     * Stamps a task written in the current transaction with its delta sync change sequence.
+     */
+    void recordChange(UUID id, long changeSeq);
+
+    /**
+     * Deletes a task owned by {@code userId}.
+     *
+     * @return the status the deleted task had, or empty if no row matched
+     */
+    Optional<TaskStatus> deleteReturningStatus(UUID id, UUID userId);
+
+    /**
+     * Records tombstones for deleted tasks.
+     */
+    void recordDeletes(UUID userId, Collection<UUID> ids, long changeSeq, LocalDateTime deletedAt);
+
+    record StatusUpdate(TaskDto task, TaskStatus previousStatus) {
+    }
+}
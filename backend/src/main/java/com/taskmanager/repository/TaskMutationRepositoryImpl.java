@@ -0,0 +1,173 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.dto.TaskDto;
+import com.taskmanager.entity.Task;
+import com.taskmanager.entity.TaskStatus;
+import com.taskmanager.entity.User;
+import jakarta.persistence.EntityManager;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Updates and deletes in one round-trip. PostgreSQL uses {@code RETURNING}; other databases, such as
+ * the H2 test profile, use the SQL-standard {@code OLD TABLE} delta table. Both run on the connection
+ * of the surrounding JPA transaction, which must be active.
+ */
+public class TaskMutationRepositoryImpl implements TaskMutationRepository {
+
+    // The locked subquery yields the status being replaced, which RETURNING alone cannot see
+    private static final String POSTGRES_UPDATE = """
+            UPDATE tasks t
+            SET %s, updated_at = :updatedAt, version = t.version + 1
+            FROM (SELECT id, status FROM tasks WHERE id = :id AND user_id = :userId %s FOR UPDATE) previous
+            WHERE t.id = previous.id
+            RETURNING t.id, t.title, t.description, t.created_at, t.version, previous.status AS previous_status
+            """;
+
+    // OLD TABLE returns the rows as they were before the update, so the version is the previous one
+    private static final String FALLBACK_UPDATE = """
+            SELECT id, title, description, created_at, version + 1 AS version, status AS previous_status
+            FROM OLD TABLE (
+                UPDATE tasks t SET %s, updated_at = :updatedAt, version = t.version + 1
+                WHERE id = :id AND user_id = :userId %s
+            )
+            """;
+
+    private static final String SET_STATUS = "status = :status";
+    // A PUT without a status keeps the current one
+    private static final String SET_CONTENT =
+            "title = :title, description = :description, status = COALESCE(:status, t.status)";
+
+    private static final String RECORD_CHANGE = "UPDATE tasks SET change_seq = :changeSeq WHERE id = :id";
+
+    private static final String USER_TASKS = User.class.getName() + ".tasks";
+
+    private static final String POSTGRES_DELETE =
+            "DELETE FROM tasks WHERE id = :id AND user_id = :userId RETURNING status";
+
+    private static final String FALLBACK_DELETE =
+            "SELECT status FROM OLD TABLE (DELETE FROM tasks WHERE id = :id AND user_id = :userId)";
+
+    private static final String INSERT_TOMBSTONE = """
+            INSERT INTO task_tombstones (task_id, user_id, change_seq, deleted_at)
+            VALUES (:id, :userId, :changeSeq, :deletedAt)
+            """;
+
+    private static final String VERSION_CONDITION = "AND version = :version";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final SecondLevelCacheInvalidator cacheInvalidator;
+    private final boolean postgres;
+
+    public TaskMutationRepositoryImpl(DataSource dataSource, EntityManager entityManager) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        this.cacheInvalidator = new SecondLevelCacheInvalidator(entityManager);
+        this.postgres = DatabaseProduct.isPostgres(dataSource);
+    }
+
+    @Override
+    public Optional<StatusUpdate> updateStatusReturning(UUID id, UUID userId, TaskStatus status,
+                                                        Long expectedVersion, LocalDateTime updatedAt) {
+        return updateReturning(SET_STATUS, new MapSqlParameterSource(), id, userId, status, expectedVersion,
+                updatedAt);
+    }
+
+    @Override
+    public Optional<StatusUpdate> updateReturning(UUID id, UUID userId, Long expectedVersion, String title,
+                                                  String description, TaskStatus status, LocalDateTime updatedAt) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("title", title)
+                .addValue("description", description);
+        Optional<StatusUpdate> update = updateReturning(SET_CONTENT, params, id, userId, status, expectedVersion,
+                updatedAt);
+        // OLD TABLE reports the text that was replaced
+        update.ifPresent(replaced -> {
+            replaced.task().setTitle(title);
+            replaced.task().setDescription(description);
+        });
+        return update;
+    }
+
+    @Override
+    public void recordChange(UUID id, long changeSeq) {
+        jdbcTemplate.update(RECORD_CHANGE, new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("changeSeq", changeSeq));
+    }
+
+    @Override
+    public Optional<TaskStatus> deleteReturningStatus(UUID id, UUID userId) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("userId", userId);
+        List<TaskStatus> rows = jdbcTemplate.query(postgres ? POSTGRES_DELETE : FALLBACK_DELETE, params,
+                (rs, rowNum) -> TaskStatus.valueOf(rs.getString("status")));
+        if (!rows.isEmpty()) {
+            cacheInvalidator.invalidateEntity(Task.class, id);
+            cacheInvalidator.invalidateCollection(USER_TASKS, userId);
+        }
+        return rows.stream().findFirst();
+    }
+
+    @Override
+    public void recordDeletes(UUID userId, Collection<UUID> ids, long changeSeq, LocalDateTime deletedAt) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        SqlParameterSource[] batch = ids.stream()
+                .map(id -> new MapSqlParameterSource()
+                        .addValue("id", id)
+                        .addValue("userId", userId)
+                        .addValue("changeSeq", changeSeq)
+                        .addValue("deletedAt", deletedAt))
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(INSERT_TOMBSTONE, batch);
+    }
+
+    private Optional<StatusUpdate> updateReturning(String assignments, MapSqlParameterSource params, UUID id,
+                                                   UUID userId, TaskStatus status, Long expectedVersion,
+                                                   LocalDateTime updatedAt) {
+        params.addValue("id", id)
+                .addValue("userId", userId)
+                .addValue("status", status != null ? status.name() : null, Types.VARCHAR)
+                .addValue("updatedAt", updatedAt);
+        if (expectedVersion != null) {
+            params.addValue("version", expectedVersion);
+        }
+        String sql = (postgres ? POSTGRES_UPDATE : FALLBACK_UPDATE)
+                .formatted(assignments, expectedVersion != null ? VERSION_CONDITION : "");
+
+        List<StatusUpdate> rows = jdbcTemplate.query(sql, params, (rs, rowNum) -> {
+            TaskStatus previous = TaskStatus.valueOf(rs.getString("previous_status"));
+            return new StatusUpdate(
+                    TaskDto.builder()
+                            .id(rs.getObject("id", UUID.class))
+                            .title(rs.getString("title"))
+                            .description(rs.getString("description"))
+                            .status(status != null ? status : previous)
+                            .createdAt(toLocalDateTime(rs.getTimestamp("created_at")))
+                            .updatedAt(updatedAt)
+                            .version(rs.getLong("version"))
+                            .build(),
+                    previous);
+        });
+        if (!rows.isEmpty()) {
+            cacheInvalidator.invalidateEntity(Task.class, id);
+        }
+        return rows.stream().findFirst();
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
@@ -1,27 +1,67 @@
 package com.taskmanager.repository;
 
+import com.taskmanager.dto.TaskDto;
 import com.taskmanager.entity.Task;
 import com.taskmanager.entity.TaskStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, UUID> {
+public interface TaskRepository extends JpaRepository<Task, UUID>, TaskSearchRepository, TaskMutationRepository {
 
-    List<Task> findByUserIdOrderByCreatedAtDesc(UUID userId);
+    // Read paths project straight into TaskDto so rows are never hydrated into managed entities
+    String TASK_DTO_SELECT = "SELECT new com.taskmanager.dto.TaskDto(" +
+            "t.id, t.title, t.description, t.status, t.createdAt, t.updatedAt, t.version) FROM Task t ";
 
-    Optional<Task> findByIdAndUserId(UUID id, UUID userId);
+    @Query(TASK_DTO_SELECT + "WHERE t.user.id = :userId ORDER BY t.createdAt DESC")
+    List<TaskDto> findDtosByUserId(@Param("userId") UUID userId);
 
-    @Query("SELECT COUNT(t) FROM Task t WHERE t.user.id = :userId AND t.status = :status")
-    long countByUserIdAndStatus(@Param("userId") UUID userId, @Param("status") TaskStatus status);
+    // Forward-only cursor for exports; must be consumed inside a transaction and closed
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(TASK_DTO_SELECT + "WHERE t.user.id = :userId ORDER BY t.createdAt DESC")
+    Stream<TaskDto> streamDtosByUserId(@Param("userId") UUID userId);
 
-    long countByUserId(UUID userId);
+    @Query(TASK_DTO_SELECT + "WHERE t.user.id = :userId ORDER BY t.createdAt DESC, t.id ASC")
+    List<TaskDto> findFirstPageByUserId(@Param("userId") UUID userId, Pageable pageable);
 
-    void deleteByIdAndUserId(UUID id, UUID userId);
+    // The leading createdAt bound is what the index range seeks on; the OR only breaks ties within it
+    @Query(TASK_DTO_SELECT + "WHERE t.user.id = :userId AND t.createdAt <= :createdAt " +
+            "AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id > :id)) " +
+            "ORDER BY t.createdAt DESC, t.id ASC")
+    List<TaskDto> findPageByUserIdAfter(@Param("userId") UUID userId,
+                                        @Param("createdAt") LocalDateTime createdAt,
+                                        @Param("id") UUID id,
+                                        Pageable pageable);
+
+    @Query(TASK_DTO_SELECT + "WHERE t.user.id = :userId AND t.changeSeq > :since")
+    List<TaskDto> findDtosChangedSince(@Param("userId") UUID userId, @Param("since") long since);
+
+    boolean existsByIdAndUserId(UUID id, UUID userId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Task t WHERE t.id IN :ids AND t.user.id = :userId ORDER BY t.id")
+    List<Task> findLockedByIdInAndUserId(@Param("ids") Collection<UUID> ids, @Param("userId") UUID userId);
+
+    @Query("SELECT t.status AS status, COUNT(t) AS total FROM Task t WHERE t.user.id = :userId GROUP BY t.status")
+    List<StatusCount> countByUserIdGroupByStatus(@Param("userId") UUID userId);
+
+    interface StatusCount {
+        TaskStatus getStatus();
+
+        long getTotal();
+    }
 }
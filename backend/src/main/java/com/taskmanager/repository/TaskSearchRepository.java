@@ -0,0 +1,18 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.dto.TaskDto;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface TaskSearchRepository {
+
+    /**
+     * Returns the user's tasks matching {@code query}, best match first, ties broken by id.
+     * When {@code afterRank} and {@code afterId} are given, only results ranked after that position are returned.
+     */
+    List<RankedTask> search(UUID userId, String query, Float afterRank, UUID afterId, int limit);
+
+    record RankedTask(TaskDto task, float rank) {
+    }
+}
@@ -0,0 +1,100 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.dto.TaskDto;
+import com.taskmanager.entity.TaskStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Full-text search over task title and description. On PostgreSQL this uses the
+ * {@code tasks.search_vector} column and its GIN index (see {@code db/migration/postgresql/V1});
+ * other databases, such as the H2 test profile, fall back to a ranked substring match.
+ */
+@Slf4j
+public class TaskSearchRepositoryImpl implements TaskSearchRepository {
+
+    private static final String POSTGRES_SEARCH = """
+            SELECT * FROM (
+                SELECT t.id, t.title, t.description, t.status, t.created_at, t.updated_at, t.version,
+                       ts_rank(t.search_vector, websearch_to_tsquery('english', :query)) AS rank
+                FROM tasks t
+                WHERE t.user_id = :userId
+                  AND t.search_vector @@ websearch_to_tsquery('english', :query)
+            ) ranked
+            """;
+
+    private static final String FALLBACK_SEARCH = """
+            SELECT * FROM (
+                SELECT t.id, t.title, t.description, t.status, t.created_at, t.updated_at, t.version,
+                       CAST((CASE WHEN LOWER(t.title) LIKE :pattern ESCAPE '\\' THEN 2 ELSE 0 END)
+                          + (CASE WHEN LOWER(t.description) LIKE :pattern ESCAPE '\\' THEN 1 ELSE 0 END) AS REAL) AS rank
+                FROM tasks t
+                WHERE t.user_id = :userId
+                  AND (LOWER(t.title) LIKE :pattern ESCAPE '\\' OR LOWER(t.description) LIKE :pattern ESCAPE '\\')
+            ) ranked
+            """;
+
+    private static final String AFTER_CURSOR =
+            "WHERE ranked.rank < CAST(:afterRank AS REAL) OR (ranked.rank = CAST(:afterRank AS REAL) AND ranked.id > :afterId) ";
+
+    private static final String ORDER_AND_LIMIT = "ORDER BY ranked.rank DESC, ranked.id ASC LIMIT :limit";
+
+    private static final RowMapper<RankedTask> ROW_MAPPER = (rs, rowNum) -> new RankedTask(
+            TaskDto.builder()
+                    .id(rs.getObject("id", UUID.class))
+                    .title(rs.getString("title"))
+                    .description(rs.getString("description"))
+                    .status(TaskStatus.valueOf(rs.getString("status")))
+                    .createdAt(toLocalDateTime(rs.getTimestamp("created_at")))
+                    .updatedAt(toLocalDateTime(rs.getTimestamp("updated_at")))
+                    .version(rs.getLong("version"))
+                    .build(),
+            rs.getFloat("rank"));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final boolean postgres;
+
+    public TaskSearchRepositoryImpl(DataSource dataSource) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        this.postgres = DatabaseProduct.isPostgres(dataSource);
+        log.info("Task search using {}", postgres ? "PostgreSQL full-text index" : "substring fallback");
+    }
+
+    @Override
+    public List<RankedTask> search(UUID userId, String query, Float afterRank, UUID afterId, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("limit", limit);
+
+        StringBuilder sql = new StringBuilder(postgres ? POSTGRES_SEARCH : FALLBACK_SEARCH);
+        if (postgres) {
+            params.addValue("query", query);
+        } else {
+            params.addValue("pattern", "%" + escapeLike(query.toLowerCase(Locale.ROOT)) + "%");
+        }
+        if (afterRank != null && afterId != null) {
+            sql.append(AFTER_CURSOR);
+            params.addValue("afterRank", afterRank).addValue("afterId", afterId);
+        }
+        sql.append(ORDER_AND_LIMIT);
+
+        return jdbcTemplate.query(sql.toString(), params, ROW_MAPPER);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
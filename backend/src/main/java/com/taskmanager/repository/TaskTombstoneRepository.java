@@ -0,0 +1,29 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.entity.TaskTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reads and purges tombstones. They are written by {@link TaskMutationRepository} together with the
+ * delete itself.
+ */
+@Repository
+public interface TaskTombstoneRepository extends JpaRepository<TaskTombstone, UUID> {
+
+    @Query("SELECT t.taskId FROM TaskTombstone t WHERE t.userId = :userId AND t.changeSeq > :since")
+    List<UUID> findTaskIdsDeletedSince(@Param("userId") UUID userId, @Param("since") long since);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM TaskTombstone t WHERE t.deletedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
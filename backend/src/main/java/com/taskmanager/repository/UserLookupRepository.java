@@ -0,0 +1,14 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.entity.User;
+
+import java.util.Optional;
+
+public interface UserLookupRepository {
+
+    /**
+     * Finds a user by the {@code username} natural id. Served from the second-level cache when the
+     * username has been seen before, so repeated logins do not query the database.
+     */
+    Optional<User> findByUsername(String username);
+}
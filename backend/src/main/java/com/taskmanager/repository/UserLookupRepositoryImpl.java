@@ -0,0 +1,27 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.entity.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+
+import java.util.Optional;
+
+/**
+ * Natural-id lookups through the Hibernate session; a derived query would always hit the database.
+ * Runs in the caller's transaction.
+ */
+public class UserLookupRepositoryImpl implements UserLookupRepository {
+
+    private final EntityManager entityManager;
+
+    public UserLookupRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Optional<User> findByUsername(String username) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .loadOptional(username);
+    }
+}
@@ -0,0 +1,13 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.entity.User;
+
+public interface UserRegistrationRepository {
+
+    /**
+     * Inserts the user in a single statement unless the username is taken.
+     *
+     * @return {@code false} if another user already has the username
+     */
+    boolean insertIfAbsent(User user);
+}
@@ -0,0 +1,48 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.entity.User;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * Registration without a separate existence check. Usernames are unique regardless of case
+ * ({@code ux_users_username_lower}); PostgreSQL skips a conflicting insert with
+ * {@code ON CONFLICT DO NOTHING}, elsewhere the unique violation is mapped to {@code false}.
+ * Nothing is cached for a new user yet, so no second-level cache entry needs invalidating.
+ */
+public class UserRegistrationRepositoryImpl implements UserRegistrationRepository {
+
+    private static final String INSERT_POSTGRES =
+            "INSERT INTO users (id, username, password, created_at, tasks_version) " +
+            "VALUES (:id, :username, :password, :createdAt, 0) " +
+            "ON CONFLICT ((lower(username))) DO NOTHING";
+
+    private static final String INSERT_PORTABLE =
+            "INSERT INTO users (id, username, password, created_at, tasks_version) " +
+            "VALUES (:id, :username, :password, :createdAt, 0)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final boolean postgres;
+
+    public UserRegistrationRepositoryImpl(DataSource dataSource) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        this.postgres = DatabaseProduct.isPostgres(dataSource);
+    }
+
+    @Override
+    public boolean insertIfAbsent(User user) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("id", user.getId())
+                .addValue("username", user.getUsername())
+                .addValue("password", user.getPassword())
+                .addValue("createdAt", user.getCreatedAt());
+        try {
+            return jdbcTemplate.update(postgres ? INSERT_POSTGRES : INSERT_PORTABLE, params) == 1;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+}
@@ -1,16 +1,23 @@
 package com.taskmanager.repository;
 
 import com.taskmanager.entity.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, UUID> {
+public interface UserRepository extends JpaRepository<User, UUID>, UserLookupRepository,
+        UserRegistrationRepository, UserVersionRepository {
 
-    Optional<User> findByUsername(String username);
+    @Query("SELECT u.tasksVersion FROM User u WHERE u.id = :userId")
+    Optional<Long> findTasksVersionById(@Param("userId") UUID userId);
 
-    boolean existsByUsername(String username);
+    @Query("SELECT u.id FROM User u")
+    Slice<UUID> findAllIds(Pageable pageable);
 }
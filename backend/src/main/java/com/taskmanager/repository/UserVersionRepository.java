@@ -0,0 +1,20 @@
+package com.taskmanager.repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface UserVersionRepository {
+
+    /**
+     * Increments {@code users.tasks_version}, invalidating only this user's second-level cache entry.
+     *
+     * @return the new version, or empty if the user does not exist
+     */
+    Optional<Long> incrementTasksVersion(UUID userId);
+
+    /**
+     * Takes the same row lock as {@link #incrementTasksVersion} without changing the version, for work
+     * that must not interleave with the user's task mutations.
+     */
+    void lockForTaskChanges(UUID userId);
+}
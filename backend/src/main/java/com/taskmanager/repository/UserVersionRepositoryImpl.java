@@ -0,0 +1,57 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.entity.User;
+import jakarta.persistence.EntityManager;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Runs on every task mutation. A bulk JPQL update here would empty the whole {@code users} cache
+ * region each time, so it is plain JDBC on the connection of the surrounding JPA transaction. On
+ * PostgreSQL the increment returns the new version in the same statement.
+ */
+public class UserVersionRepositoryImpl implements UserVersionRepository {
+
+    private static final String INCREMENT_TASKS_VERSION =
+            "UPDATE users SET tasks_version = tasks_version + 1 WHERE id = :userId";
+    private static final String RETURNING_TASKS_VERSION = " RETURNING tasks_version";
+    private static final String SELECT_TASKS_VERSION = "SELECT tasks_version FROM users WHERE id = :userId";
+    private static final String LOCK_USER = "SELECT id FROM users WHERE id = :userId FOR UPDATE";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final SecondLevelCacheInvalidator cacheInvalidator;
+    private final boolean postgres;
+
+    public UserVersionRepositoryImpl(DataSource dataSource, EntityManager entityManager) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        this.cacheInvalidator = new SecondLevelCacheInvalidator(entityManager);
+        this.postgres = DatabaseProduct.isPostgres(dataSource);
+    }
+
+    @Override
+    public Optional<Long> incrementTasksVersion(UUID userId) {
+        MapSqlParameterSource params = new MapSqlParameterSource("userId", userId);
+        List<Long> versions;
+        if (postgres) {
+            versions = jdbcTemplate.queryForList(INCREMENT_TASKS_VERSION + RETURNING_TASKS_VERSION, params, Long.class);
+        } else {
+            versions = jdbcTemplate.update(INCREMENT_TASKS_VERSION, params) > 0
+                    ? jdbcTemplate.queryForList(SELECT_TASKS_VERSION, params, Long.class)
+                    : List.of();
+        }
+        if (!versions.isEmpty()) {
+            cacheInvalidator.invalidateEntity(User.class, userId);
+        }
+        return versions.stream().findFirst();
+    }
+
+    @Override
+    public void lockForTaskChanges(UUID userId) {
+        jdbcTemplate.queryForList(LOCK_USER, new MapSqlParameterSource("userId", userId));
+    }
+}
@@ -1,10 +1,17 @@
 package com.taskmanager.security;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -15,14 +22,33 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Collections;
-import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Authenticates bearer tokens. Resolution time is recorded as {@code jwt.verification} (tagged by
+ * outcome, cache hits included) and rejected tokens are counted as {@code jwt.verification.failures}
+ * by reason. Revocation is checked on every request, cached principals included.
+ */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class JwtFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
+    private final VerifiedTokenCache tokenCache;
+    private final TokenRevocationList revocationList;
+    private final MeterRegistry meterRegistry;
+    private final Timer verified;
+    private final Timer rejected;
+
+    public JwtFilter(JwtUtil jwtUtil, VerifiedTokenCache tokenCache, TokenRevocationList revocationList,
+                     MeterRegistry meterRegistry) {
+        this.jwtUtil = jwtUtil;
+        this.tokenCache = tokenCache;
+        this.revocationList = revocationList;
+        this.meterRegistry = meterRegistry;
+        this.verified = verificationTimer("success");
+        this.rejected = verificationTimer("failure");
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -31,11 +57,8 @@ public class JwtFilter extends OncePerRequestFilter {
         try {
             String token = extractToken(request);
 
-            if (StringUtils.hasText(token) && jwtUtil.validateToken(token)) {
-                String username = jwtUtil.extractUsername(token);
-                UUID userId = jwtUtil.extractUserId(token);
-
-                UserPrincipal principal = new UserPrincipal(userId, username);
+            if (StringUtils.hasText(token)) {
+                UserPrincipal principal = verify(token);
 
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(principal, null, Collections.emptyList());
@@ -43,6 +66,8 @@ public class JwtFilter extends OncePerRequestFilter {
 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
             }
+        } catch (JwtException | IllegalArgumentException ex) {
+            log.debug("Rejected JWT: {}", ex.getMessage());
         } catch (Exception ex) {
             log.error("Could not set user authentication in security context", ex);
         }
@@ -50,6 +75,65 @@ public class JwtFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private UserPrincipal verify(String token) {
+        long start = System.nanoTime();
+        try {
+            UserPrincipal principal = resolvePrincipal(token);
+            verified.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return principal;
+        } catch (RuntimeException ex) {
+            rejected.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            Counter.builder("jwt.verification.failures")
+                    .tag("reason", failureReason(ex))
+                    .register(meterRegistry)
+                    .increment();
+            throw ex;
+        }
+    }
+
+    private UserPrincipal resolvePrincipal(String token) {
+        String cacheKey = tokenCache.keyFor(token);
+        UserPrincipal principal = tokenCache.get(cacheKey);
+        if (principal == null) {
+            Claims claims = jwtUtil.parseToken(token);
+            principal = jwtUtil.toPrincipal(claims);
+            tokenCache.put(cacheKey, principal, claims.getExpiration().getTime());
+        }
+        if (revocationList.isRevoked(principal.getTokenId())) {
+            throw new RevokedTokenException();
+        }
+        return principal;
+    }
+
+    private Timer verificationTimer(String outcome) {
+        return Timer.builder("jwt.verification")
+                .description("Time to resolve a bearer token to a principal")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static String failureReason(RuntimeException ex) {
+        if (ex instanceof RevokedTokenException) {
+            return "revoked";
+        }
+        if (ex instanceof ExpiredJwtException) {
+            return "expired";
+        }
+        if (ex instanceof SignatureException) {
+            return "signature";
+        }
+        if (ex instanceof MalformedJwtException || ex instanceof IllegalArgumentException) {
+            return "malformed";
+        }
+        return ex instanceof JwtException ? "invalid" : "error";
+    }
+
+    private static class RevokedTokenException extends JwtException {
+        RevokedTokenException() {
+            super("Token has been revoked");
+        }
+    }
+
     private String extractToken(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
@@ -1,6 +1,8 @@
 package com.taskmanager.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -16,18 +18,30 @@ public class JwtUtil {
 
     private final SecretKey secretKey;
     private final long expiration;
+    private final JwtParser parser;
 
     public JwtUtil(@Value("${jwt.secret}") String secret,
                    @Value("${jwt.expiration}") long expiration) {
         this.secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
         this.expiration = expiration;
+        this.parser = Jwts.parser()
+                .verifyWith(secretKey)
+                .build();
     }
 
     public String generateToken(String username, UUID userId) {
+        return generateToken(username, userId, UUID.randomUUID());
+    }
+
+    /**
+     * @param tokenId the {@code jti} claim, the key under which the token can be revoked
+     */
+    public String generateToken(String username, UUID userId, UUID tokenId) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expiration);
 
         return Jwts.builder()
+                .id(tokenId.toString())
                 .subject(username)
                 .claim("userId", userId.toString())
                 .issuedAt(now)
@@ -36,29 +50,25 @@ public class JwtUtil {
                 .compact();
     }
 
-    public String extractUsername(String token) {
-        return extractClaims(token).getSubject();
+    /**
+     * Verifies the signature and expiry of a token in a single pass.
+     *
+     * @throws JwtException if the token is malformed, tampered with or expired
+     */
+    public Claims parseToken(String token) {
+        return parser.parseSignedClaims(token).getPayload();
     }
 
-    public UUID extractUserId(String token) {
-        String userId = extractClaims(token).get("userId", String.class);
-        return UUID.fromString(userId);
+    public UserPrincipal toPrincipal(Claims claims) {
+        // Tokens issued before token IDs were introduced have no jti
+        UUID tokenId = claims.getId() != null ? UUID.fromString(claims.getId()) : null;
+        return new UserPrincipal(UUID.fromString(claims.get("userId", String.class)), claims.getSubject(), tokenId);
     }
 
-    public boolean validateToken(String token) {
-        try {
-            Claims claims = extractClaims(token);
-            return !claims.getExpiration().before(new Date());
-        } catch (Exception e) {
-            return false;
-        }
-    }
-
-    private Claims extractClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    /**
+     * @return access token lifetime in milliseconds
+     */
+    public long getExpiration() {
+        return expiration;
     }
 }
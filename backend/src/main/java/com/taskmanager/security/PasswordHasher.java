@@ -0,0 +1,153 @@
+package com.taskmanager.security;
+
+import com.taskmanager.exception.CustomExceptions.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs password hashing on a small dedicated pool so a login or registration storm cannot occupy
+ * every request thread with BCrypt. The pool is capped below the core count and its queue is
+ * bounded; work beyond that is refused with {@link TooManyRequestsException} instead of queueing
+ * without limit. Concurrent checks of the same username and password share one hash.
+ */
+@Component
+public class PasswordHasher {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Map<CheckKey, CompletableFuture<Boolean>> inFlight = new ConcurrentHashMap<>();
+    private final long retryAfterSeconds;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+    private final Counter shared;
+
+    public PasswordHasher(PasswordEncoder passwordEncoder,
+                          @Value("${tasks.auth.hash-threads:0}") int threads,
+                          @Value("${tasks.auth.hash-queue-size:64}") int queueSize,
+                          @Value("${tasks.auth.retry-after-seconds:1}") long retryAfterSeconds,
+                          MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        this.retryAfterSeconds = retryAfterSeconds;
+        // Half the cores by default, leaving the rest for request handling
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        BlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(queueSize);
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS, queue, runnable -> {
+            Thread thread = new Thread(runnable, "password-hash-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.encodeTimer = Timer.builder("auth.hash")
+                .description("Time spent hashing a password, excluding the queue wait")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("auth.hash")
+                .description("Time spent hashing a password, excluding the queue wait")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("auth.hash.rejected")
+                .description("Hash requests refused with 429 because the queue was full")
+                .register(meterRegistry);
+        this.shared = Counter.builder("auth.hash.shared")
+                .description("Password checks answered by an identical check already in flight")
+                .register(meterRegistry);
+        Gauge.builder("auth.hash.queue.depth", queue, BlockingQueue::size)
+                .description("Hash requests waiting for a hashing thread")
+                .register(meterRegistry);
+    }
+
+    public String encode(String rawPassword) {
+        CompletableFuture<String> result = new CompletableFuture<>();
+        submit(() -> encodeTimer.record(() -> passwordEncoder.encode(rawPassword)), result);
+        return await(result);
+    }
+
+    /**
+     * Checks {@code rawPassword} against the stored hash. Callers checking the same credentials
+     * while a check is running wait for that check instead of starting another one.
+     */
+    public boolean matches(String username, String rawPassword, String encodedPassword) {
+        CheckKey key = new CheckKey(username, digest(rawPassword), encodedPassword);
+        boolean[] started = new boolean[1];
+        CompletableFuture<Boolean> check = inFlight.computeIfAbsent(key, k -> {
+            CompletableFuture<Boolean> result = new CompletableFuture<>();
+            // Dropped once done: only checks that overlap share a result, nothing is cached
+            result.whenComplete((matched, error) -> inFlight.remove(k, result));
+            submit(() -> matchesTimer.record(() -> passwordEncoder.matches(rawPassword, encodedPassword)), result);
+            started[0] = true;
+            return result;
+        });
+        if (!started[0]) {
+            shared.increment();
+        }
+        return await(check);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> void submit(Supplier<T> hash, CompletableFuture<T> result) {
+        try {
+            executor.execute(() -> {
+                try {
+                    result.complete(hash.get());
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new TooManyRequestsException("Authentication is busy, please retry", retryAfterSeconds);
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static String digest(String rawPassword) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(rawPassword.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // Holds a digest rather than the password itself
+    private record CheckKey(String username, String passwordDigest, String encodedPassword) {
+    }
+}
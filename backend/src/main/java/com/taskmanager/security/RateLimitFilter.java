@@ -0,0 +1,141 @@
+package com.taskmanager.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.dto.ApiResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-client rate limits, applied right after {@link JwtFilter} so one client cannot monopolize the
+ * connection pool. {@code /api/auth/**} is limited per client IP; other requests are limited per
+ * authenticated user, with separate buckets for reads and writes. Requests that are neither
+ * (unauthenticated, so about to be rejected) pass through. Rejections are 429 with
+ * {@code Retry-After} and {@code RateLimit-*} headers and are counted as
+ * {@code rate.limit.rejections} by route class. Behind a proxy the client IP is taken from
+ * {@code X-Forwarded-For} ({@code server.forward-headers-strategy} in {@code application.yml});
+ * without it every client would share the proxy's bucket.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    enum RouteClass {
+        AUTH, READ, WRITE
+    }
+
+    private static final String AUTH_PATH = "/api/auth/";
+
+    private final boolean enabled;
+    private final RateLimiter<String> auth;
+    private final RateLimiter<UUID> read;
+    private final RateLimiter<UUID> write;
+    private final Map<RouteClass, Counter> rejections = new EnumMap<>(RouteClass.class);
+    private final ObjectMapper objectMapper;
+
+    public RateLimitFilter(@Value("${tasks.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${tasks.rate-limit.max-buckets:100000}") long maxBuckets,
+                           @Value("${tasks.rate-limit.idle-ms:600000}") long idleMillis,
+                           @Value("${tasks.rate-limit.auth.per-second:1}") double authPerSecond,
+                           @Value("${tasks.rate-limit.auth.burst:10}") int authBurst,
+                           @Value("${tasks.rate-limit.read.per-second:50}") double readPerSecond,
+                           @Value("${tasks.rate-limit.read.burst:100}") int readBurst,
+                           @Value("${tasks.rate-limit.write.per-second:10}") double writePerSecond,
+                           @Value("${tasks.rate-limit.write.burst:40}") int writeBurst,
+                           ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry) {
+        Duration idle = Duration.ofMillis(idleMillis);
+        this.enabled = enabled;
+        this.auth = new RateLimiter<>(authPerSecond, authBurst, maxBuckets, idle);
+        this.read = new RateLimiter<>(readPerSecond, readBurst, maxBuckets, idle);
+        this.write = new RateLimiter<>(writePerSecond, writeBurst, maxBuckets, idle);
+        this.objectMapper = objectMapper;
+        for (RouteClass route : RouteClass.values()) {
+            String tag = route.name().toLowerCase();
+            rejections.put(route, Counter.builder("rate.limit.rejections")
+                    .description("Requests refused with 429 by the per-client rate limit")
+                    .tag("route", tag)
+                    .register(meterRegistry));
+            Gauge.builder("rate.limit.buckets", limiter(route), RateLimiter::estimatedSize)
+                    .description("Client buckets currently held")
+                    .tag("route", tag)
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (enabled) {
+            RouteClass route = null;
+            long waitNanos = 0;
+            if (request.getRequestURI().startsWith(AUTH_PATH)) {
+                route = RouteClass.AUTH;
+                waitNanos = auth.tryAcquire(request.getRemoteAddr());
+            } else {
+                UUID userId = authenticatedUserId();
+                if (userId != null) {
+                    route = isRead(request.getMethod()) ? RouteClass.READ : RouteClass.WRITE;
+                    waitNanos = (route == RouteClass.READ ? read : write).tryAcquire(userId);
+                }
+            }
+            if (waitNanos > 0) {
+                reject(route, waitNanos, response);
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private static boolean isRead(String method) {
+        return "GET".equals(method) || "HEAD".equals(method);
+    }
+
+    private static UUID authenticatedUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal
+                ? principal.getUserId()
+                : null;
+    }
+
+    private RateLimiter<?> limiter(RouteClass route) {
+        return switch (route) {
+            case AUTH -> auth;
+            case READ -> read;
+            case WRITE -> write;
+        };
+    }
+
+    private void reject(RouteClass route, long waitNanos, HttpServletResponse response) throws IOException {
+        rejections.get(route).increment();
+        // Whole seconds, rounded up
+        String retryAfter = String.valueOf(TimeUnit.NANOSECONDS.toSeconds(waitNanos - 1) + 1);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+        response.setHeader("RateLimit-Limit", String.valueOf(limiter(route).getBurst()));
+        response.setHeader("RateLimit-Remaining", "0");
+        response.setHeader("RateLimit-Reset", retryAfter);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                ApiResponse.error("TOO_MANY_REQUESTS", "Rate limit exceeded, please retry"));
+    }
+}
@@ -0,0 +1,80 @@
+package com.taskmanager.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Token buckets keyed by client. Each bucket is a single {@link AtomicLong} holding the time at which
+ * it would be full again (the GCRA form of a token bucket), so acquiring a permit is one
+ * compare-and-set with no lock and no allocation. Buckets live in a bounded Caffeine table whose
+ * lookups are lock-free; a bucket idle for longer than it takes to refill is full anyway, so
+ * evicting it after {@code idle} loses nothing.
+ */
+public final class RateLimiter<K> {
+
+    private final long intervalNanos;
+    private final long capacityNanos;
+    private final int burst;
+    private final Ticker ticker;
+    private final Cache<K, AtomicLong> buckets;
+    // Held in a field so a lookup that finds the bucket allocates nothing
+    private final Function<K, AtomicLong> newBucket;
+
+    public RateLimiter(double permitsPerSecond, int burst, long maxBuckets, Duration idle) {
+        this(permitsPerSecond, burst, maxBuckets, idle, Ticker.systemTicker());
+    }
+
+    RateLimiter(double permitsPerSecond, int burst, long maxBuckets, Duration idle, Ticker ticker) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate and burst must be positive");
+        }
+        this.intervalNanos = Math.max(1L, Math.round(1_000_000_000d / permitsPerSecond));
+        this.capacityNanos = intervalNanos * burst;
+        this.burst = burst;
+        this.ticker = ticker;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfterAccess(idle)
+                .ticker(ticker)
+                .build();
+        this.newBucket = key -> new AtomicLong(ticker.read());
+    }
+
+    /**
+     * Takes one permit from the bucket of {@code key}.
+     *
+     * @return 0 if a permit was taken, otherwise the nanoseconds until one will be available
+     */
+    public long tryAcquire(K key) {
+        AtomicLong fullAt = buckets.get(key, newBucket);
+        while (true) {
+            long now = ticker.read();
+            long current = fullAt.get();
+            long next = Math.max(current, now) + intervalNanos;
+            long wait = next - now - capacityNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    public long estimatedSize() {
+        return buckets.estimatedSize();
+    }
+
+    void cleanUp() {
+        buckets.cleanUp();
+    }
+}
@@ -0,0 +1,61 @@
+package com.taskmanager.security;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over token IDs. Lookups read a handful of words and allocate nothing;
+ * a negative answer is exact, a positive one has to be confirmed against the exact set.
+ */
+final class TokenIdBloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+    private final int capacity;
+
+    TokenIdBloomFilter(int expectedEntries, double falsePositiveRate) {
+        this.capacity = Math.max(1, expectedEntries);
+        double ln2 = Math.log(2);
+        long bits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (ln2 * ln2));
+        int wordCount = (int) Math.max(1, (bits + 63) >>> 6);
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = (long) wordCount << 6;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / capacity * ln2));
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    void put(UUID tokenId) {
+        long h1 = mix(tokenId.getMostSignificantBits());
+        long h2 = mix(tokenId.getLeastSignificantBits()) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            words.accumulateAndGet((int) (bit >>> 6), 1L << bit, (word, mask) -> word | mask);
+        }
+    }
+
+    boolean mightContain(UUID tokenId) {
+        long h1 = mix(tokenId.getMostSignificantBits());
+        long h2 = mix(tokenId.getLeastSignificantBits()) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Murmur3 finalizer; token IDs are random UUIDs, but older or foreign IDs need not be
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,126 @@
+package com.taskmanager.security;
+
+import com.taskmanager.entity.RevokedToken;
+import com.taskmanager.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory copy of the {@code revoked_tokens} table, consulted by {@link JwtFilter} on every
+ * request. A Bloom filter answers the common case (token not revoked) without touching the exact
+ * set; only filter hits are confirmed against it. New rows written by any node are pulled every
+ * {@code jwt.revocation.sync-ms}, and revocations made on this node apply immediately.
+ */
+@Component
+@Slf4j
+public class TokenRevocationList {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final RevokedTokenRepository repository;
+    // Token ID -> epoch millis after which the token is expired anyway
+    private final Map<UUID, Long> revoked = new ConcurrentHashMap<>();
+    private final int expectedEntries;
+    private final long syncOverlapMillis;
+    private volatile TokenIdBloomFilter filter;
+    private volatile Instant syncedUntil = Instant.EPOCH;
+
+    public TokenRevocationList(RevokedTokenRepository repository,
+                               @Value("${jwt.revocation.expected-entries:100000}") int expectedEntries,
+                               @Value("${jwt.revocation.sync-overlap-ms:30000}") long syncOverlapMillis,
+                               MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.expectedEntries = expectedEntries;
+        this.syncOverlapMillis = syncOverlapMillis;
+        this.filter = new TokenIdBloomFilter(expectedEntries, FALSE_POSITIVE_RATE);
+        Gauge.builder("jwt.revocation.size", revoked, Map::size)
+                .description("Revoked, not yet expired access tokens held in memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return whether the token was revoked; tokens without an ID predate revocation and never are
+     */
+    public boolean isRevoked(UUID tokenId) {
+        return tokenId != null && filter.mightContain(tokenId) && revoked.containsKey(tokenId);
+    }
+
+    /**
+     * Revokes an access token on every node: persisted for the others, applied here right away.
+     */
+    public void revoke(UUID tokenId, Instant expiresAt) {
+        repository.save(RevokedToken.builder()
+                .tokenId(tokenId)
+                .expiresAt(expiresAt)
+                .revokedAt(Instant.now())
+                .build());
+        add(tokenId, expiresAt.toEpochMilli());
+    }
+
+    // A database outage at startup must not keep the node down; the scheduled sync catches up
+    @PostConstruct
+    void loadInitial() {
+        try {
+            sync();
+        } catch (DataAccessException e) {
+            log.warn("Could not load token revocations at startup, retrying with the next sync: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-ms:5000}")
+    public void sync() {
+        Instant now = Instant.now();
+        // Re-reads a window before the last sync so rows from slow commits or skewed clocks are not missed
+        List<RevokedToken> rows = repository.findRevokedSince(syncedUntil.minusMillis(syncOverlapMillis), now);
+        for (RevokedToken row : rows) {
+            if (!revoked.containsKey(row.getTokenId())) {
+                add(row.getTokenId(), row.getExpiresAt().toEpochMilli());
+            }
+        }
+        syncedUntil = now;
+    }
+
+    @Scheduled(cron = "${jwt.revocation.purge-cron:0 */10 * * * *}")
+    public void purgeExpired() {
+        int deleted = repository.deleteExpired(Instant.now());
+        long now = System.currentTimeMillis();
+        if (revoked.values().removeIf(expiresAt -> expiresAt <= now)) {
+            rebuild();
+        }
+        log.debug("Purged expired token revocations: {} rows deleted, {} still revoked", deleted, revoked.size());
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    // Writers are rare, so they serialize; readers only ever see a fully built filter
+    private synchronized void add(UUID tokenId, long expiresAt) {
+        revoked.put(tokenId, expiresAt);
+        if (revoked.size() > filter.capacity()) {
+            rebuild();
+        } else {
+            filter.put(tokenId);
+        }
+    }
+
+    // Bloom filters cannot drop entries, so expired ones are shed by building a fresh filter
+    private synchronized void rebuild() {
+        TokenIdBloomFilter rebuilt = new TokenIdBloomFilter(
+                Math.max(expectedEntries, revoked.size() * 2), FALSE_POSITIVE_RATE);
+        revoked.keySet().forEach(rebuilt::put);
+        filter = rebuilt;
+    }
+}
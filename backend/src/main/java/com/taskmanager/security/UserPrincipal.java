@@ -10,4 +10,10 @@ import java.util.UUID;
 public class UserPrincipal {
     private UUID userId;
     private String username;
+    // jti of the access token this principal came from, checked against the revocation list
+    private UUID tokenId;
+
+    public UserPrincipal(UUID userId, String username) {
+        this(userId, username, null);
+    }
 }
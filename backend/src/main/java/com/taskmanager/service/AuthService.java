@@ -4,28 +4,25 @@ import com.taskmanager.dto.AuthRequestDto;
 import com.taskmanager.dto.AuthResponseDto;
 import com.taskmanager.entity.User;
 import com.taskmanager.exception.CustomExceptions.InvalidCredentialsException;
-import com.taskmanager.security.JwtUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.UUID;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class AuthService {
 
     private final UserService userService;
-    private final JwtUtil jwtUtil;
+    private final RefreshTokenService refreshTokenService;
 
     public AuthResponseDto register(AuthRequestDto request) {
         User user = userService.createUser(request.getUsername(), request.getPassword());
-        String token = jwtUtil.generateToken(user.getUsername(), user.getId());
 
         log.info("User registered successfully: {}", user.getUsername());
-        return AuthResponseDto.builder()
-                .token(token)
-                .username(user.getUsername())
-                .build();
+        return refreshTokenService.issue(user.getId(), user.getUsername());
     }
 
     public AuthResponseDto login(AuthRequestDto request) {
@@ -36,12 +33,16 @@ public class AuthService {
             throw new InvalidCredentialsException();
         }
 
-        String token = jwtUtil.generateToken(user.getUsername(), user.getId());
-
         log.info("User logged in successfully: {}", user.getUsername());
-        return AuthResponseDto.builder()
-                .token(token)
-                .username(user.getUsername())
-                .build();
+        return refreshTokenService.issue(user.getId(), user.getUsername());
+    }
+
+    // No password check: the refresh token itself is the credential
+    public AuthResponseDto refresh(String refreshToken) {
+        return refreshTokenService.refresh(refreshToken);
+    }
+
+    public void logout(String refreshToken, UUID accessTokenId) {
+        refreshTokenService.logout(refreshToken, accessTokenId);
     }
 }
@@ -0,0 +1,52 @@
+package com.taskmanager.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.taskmanager.security.UserPrincipal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Users who committed a task mutation on this node within {@code tasks.datasource.read-your-writes-ms}.
+ * Their read-only transactions go to the primary, so a client never reads its own change back from a
+ * replica that has not applied it yet. The window must be longer than the replica lag allowed by
+ * {@code tasks.datasource.max-lag-ms}; 0 turns it off.
+ */
+@Component
+public class ReadYourWrites {
+
+    private final Cache<UUID, Boolean> recentWriters;
+
+    public ReadYourWrites(@Value("${tasks.datasource.read-your-writes-ms:5000}") long windowMillis,
+                          @Value("${tasks.datasource.read-your-writes-max-users:100000}") long maxUsers) {
+        this.recentWriters = windowMillis > 0
+                ? Caffeine.newBuilder()
+                        .maximumSize(maxUsers)
+                        .expireAfterWrite(Duration.ofMillis(windowMillis))
+                        .build()
+                : null;
+    }
+
+    public void recordWrite(UUID userId) {
+        if (recentWriters != null) {
+            recentWriters.put(userId, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * @return true if the user authenticated on this thread wrote within the window
+     */
+    public boolean pinnedToPrimary() {
+        if (recentWriters == null) {
+            return false;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal
+                && recentWriters.getIfPresent(principal.getUserId()) != null;
+    }
+}
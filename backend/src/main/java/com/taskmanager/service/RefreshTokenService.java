@@ -0,0 +1,148 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.AuthResponseDto;
+import com.taskmanager.entity.RefreshToken;
+import com.taskmanager.exception.CustomExceptions.UnauthorizedException;
+import com.taskmanager.repository.RefreshTokenRepository;
+import com.taskmanager.repository.UserRepository;
+import com.taskmanager.security.JwtUtil;
+import com.taskmanager.security.TokenRevocationList;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Issues short-lived access tokens together with rotating refresh tokens. Refresh tokens are
+ * random and only their SHA-256 digest is stored, so renewing a session costs one indexed lookup
+ * instead of a BCrypt check.
+ */
+@Service
+@Slf4j
+public class RefreshTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final JwtUtil jwtUtil;
+    private final TokenRevocationList revocationList;
+    private final long refreshExpiration;
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               UserRepository userRepository,
+                               JwtUtil jwtUtil,
+                               TokenRevocationList revocationList,
+                               @Value("${jwt.refresh.expiration:2592000000}") long refreshExpiration) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.jwtUtil = jwtUtil;
+        this.revocationList = revocationList;
+        this.refreshExpiration = refreshExpiration;
+    }
+
+    /**
+     * Starts a new token family for a user who just proved their password.
+     */
+    @Transactional
+    public AuthResponseDto issue(UUID userId, String username) {
+        return issue(userId, username, UUID.randomUUID());
+    }
+
+    /**
+     * Exchanges a refresh token for a new access and refresh token. Presenting a token that was
+     * already rotated revokes its whole family, including access tokens issued from it.
+     */
+    @Transactional(noRollbackFor = UnauthorizedException.class)
+    public AuthResponseDto refresh(String rawToken) {
+        RefreshToken token = refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .filter(t -> !t.isRevoked() && t.getExpiresAt().isAfter(Instant.now()))
+                .orElseThrow(RefreshTokenService::invalidToken);
+
+        if (refreshTokenRepository.markRotated(token.getId(), Instant.now()) == 0) {
+            log.warn("Rotated refresh token presented again for user {}, revoking its family", token.getUserId());
+            revokeFamily(token.getFamilyId());
+            throw invalidToken();
+        }
+
+        String username = userRepository.findById(token.getUserId())
+                .orElseThrow(RefreshTokenService::invalidToken)
+                .getUsername();
+        return issue(token.getUserId(), username, token.getFamilyId());
+    }
+
+    /**
+     * Ends a session: revokes the refresh token's family and the presented access token, if any.
+     */
+    @Transactional
+    public void logout(String rawToken, UUID accessTokenId) {
+        if (rawToken != null) {
+            refreshTokenRepository.findByTokenHash(hash(rawToken))
+                    .ifPresent(token -> revokeFamily(token.getFamilyId()));
+        }
+        if (accessTokenId != null && !revocationList.isRevoked(accessTokenId)) {
+            revocationList.revoke(accessTokenId, Instant.now().plusMillis(jwtUtil.getExpiration()));
+        }
+    }
+
+    @Scheduled(cron = "${jwt.refresh.purge-cron:0 30 3 * * *}")
+    public void purgeExpired() {
+        int deleted = refreshTokenRepository.deleteExpired(Instant.now());
+        log.info("Purged {} expired refresh tokens", deleted);
+    }
+
+    private AuthResponseDto issue(UUID userId, String username, UUID familyId) {
+        byte[] secret = new byte[32];
+        RANDOM.nextBytes(secret);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(secret);
+        UUID accessTokenId = UUID.randomUUID();
+
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(hash(rawToken))
+                .userId(userId)
+                .familyId(familyId)
+                .accessTokenId(accessTokenId)
+                .expiresAt(Instant.now().plusMillis(refreshExpiration))
+                .build());
+
+        return AuthResponseDto.builder()
+                .token(jwtUtil.generateToken(username, userId, accessTokenId))
+                .refreshToken(rawToken)
+                .expiresIn(jwtUtil.getExpiration() / 1000)
+                .username(username)
+                .build();
+    }
+
+    private void revokeFamily(UUID familyId) {
+        Instant now = Instant.now();
+        Instant accessExpiresAt = now.plusMillis(jwtUtil.getExpiration());
+        for (UUID accessTokenId : refreshTokenRepository.findActiveAccessTokenIds(
+                familyId, now.minusMillis(jwtUtil.getExpiration()))) {
+            revocationList.revoke(accessTokenId, accessExpiresAt);
+        }
+        refreshTokenRepository.revokeFamily(familyId);
+    }
+
+    private static UnauthorizedException invalidToken() {
+        return new UnauthorizedException("Invalid or expired refresh token");
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
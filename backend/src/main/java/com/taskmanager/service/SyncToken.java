@@ -0,0 +1,36 @@
+package com.taskmanager.service;
+
+import com.taskmanager.exception.CustomExceptions.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque delta sync position: the user's change sequence the client is current with, and when the
+ * token was issued, which decides whether the tombstones it needs are still retained.
+ */
+record SyncToken(long changeSeq, long issuedAt) {
+
+    private static final char SEPARATOR = '|';
+
+    String encode() {
+        String raw = Long.toString(changeSeq) + SEPARATOR + issuedAt;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static SyncToken decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new ValidationException("Invalid sync token");
+            }
+            return new SyncToken(
+                    Long.parseLong(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Invalid sync token");
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.TaskDto;
+import com.taskmanager.dto.TaskEventDto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Published by {@link TaskService} inside a mutation; delivered to stream subscribers once the
+ * transaction commits.
+ */
+public record TaskChangedEvent(UUID userId, List<TaskEventDto> events) {
+
+    public static TaskChangedEvent of(UUID userId, TaskEventDto.Type type, UUID taskId, TaskDto task) {
+        return new TaskChangedEvent(userId, List.of(new TaskEventDto(type, taskId, task)));
+    }
+}
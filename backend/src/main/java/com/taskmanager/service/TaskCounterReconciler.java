@@ -0,0 +1,41 @@
+package com.taskmanager.service;
+
+import com.taskmanager.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TaskCounterReconciler {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final UserRepository userRepository;
+    private final TaskCounterService taskCounterService;
+
+    @Scheduled(cron = "${tasks.counters.reconcile-cron:0 0 3 * * *}")
+    public void reconcileAll() {
+        Pageable pageable = PageRequest.of(0, BATCH_SIZE, Sort.by("id"));
+        int users = 0;
+        int repaired = 0;
+        Slice<UUID> userIds;
+        do {
+            userIds = userRepository.findAllIds(pageable);
+            for (UUID userId : userIds) {
+                repaired += taskCounterService.reconcile(userId);
+                users++;
+            }
+            pageable = userIds.nextPageable();
+        } while (userIds.hasNext());
+        log.info("Task counter reconciliation finished: {} users checked, {} counters repaired", users, repaired);
+    }
+}
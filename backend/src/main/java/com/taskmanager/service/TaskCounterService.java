@@ -0,0 +1,143 @@
+package com.taskmanager.service;
+
+import com.taskmanager.entity.TaskCounter;
+import com.taskmanager.entity.TaskStatus;
+import com.taskmanager.repository.TaskCounterRepository;
+import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Maintains the per-user {@code task_counters} rows that back task statistics.
+ * Adjustments must run inside the transaction of the task mutation they describe.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TaskCounterService {
+
+    private final TaskCounterRepository taskCounterRepository;
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+
+    @Transactional
+    public void initialize(UUID userId) {
+        for (TaskStatus status : TaskStatus.values()) {
+            taskCounterRepository.save(new TaskCounter(userId, status, 0));
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void taskCreated(UUID userId, TaskStatus status) {
+        Map<TaskStatus, Long> deltas = new EnumMap<>(TaskStatus.class);
+        deltas.put(status, 1L);
+        adjust(userId, deltas);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void taskDeleted(UUID userId, TaskStatus status) {
+        Map<TaskStatus, Long> deltas = new EnumMap<>(TaskStatus.class);
+        deltas.put(status, -1L);
+        adjust(userId, deltas);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void statusChanged(UUID userId, TaskStatus from, TaskStatus to) {
+        if (from == to) {
+            return;
+        }
+        Map<TaskStatus, Long> deltas = new EnumMap<>(TaskStatus.class);
+        deltas.put(from, -1L);
+        deltas.put(to, 1L);
+        adjust(userId, deltas);
+    }
+
+    /**
+     * Applies net per-status changes accumulated over several mutations, e.g. a batch.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyDeltas(UUID userId, Map<TaskStatus, Long> deltas) {
+        Map<TaskStatus, Long> nonZero = new EnumMap<>(TaskStatus.class);
+        deltas.forEach((status, delta) -> {
+            if (delta != 0) {
+                nonZero.put(status, delta);
+            }
+        });
+        if (!nonZero.isEmpty()) {
+            adjust(userId, nonZero);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public Map<TaskStatus, Long> getCounts(UUID userId) {
+        Map<TaskStatus, Long> counts = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : TaskStatus.values()) {
+            counts.put(status, 0L);
+        }
+
+        var counters = taskCounterRepository.findByUserId(userId);
+        if (counters.size() == TaskStatus.values().length) {
+            counters.forEach(counter -> counts.put(counter.getStatus(), counter.getTaskCount()));
+        } else {
+            // Counters not yet materialized for this user; answer from the tasks table until reconciled
+            taskRepository.countByUserIdGroupByStatus(userId)
+                    .forEach(row -> counts.put(row.getStatus(), row.getTotal()));
+        }
+        return counts;
+    }
+
+    /**
+     * Rewrites the user's counters from a full count of their tasks. It first takes the user row lock
+     * that every task mutation takes in {@link TaskVersionService#bump}, so concurrent mutations are
+     * either fully included or applied afterwards, and counter rows are only ever locked by the
+     * holder of that lock.
+     *
+     * @return number of counter rows that were missing or had drifted
+     */
+    @Transactional
+    public int reconcile(UUID userId) {
+        userRepository.lockForTaskChanges(userId);
+        Map<TaskStatus, TaskCounter> counters = new EnumMap<>(TaskStatus.class);
+        taskCounterRepository.lockByUserId(userId)
+                .forEach(counter -> counters.put(counter.getStatus(), counter));
+
+        Map<TaskStatus, Long> actual = new EnumMap<>(TaskStatus.class);
+        taskRepository.countByUserIdGroupByStatus(userId)
+                .forEach(row -> actual.put(row.getStatus(), row.getTotal()));
+
+        int repaired = 0;
+        for (TaskStatus status : TaskStatus.values()) {
+            long expected = actual.getOrDefault(status, 0L);
+            TaskCounter counter = counters.get(status);
+            if (counter == null) {
+                taskCounterRepository.save(new TaskCounter(userId, status, expected));
+                repaired++;
+            } else if (counter.getTaskCount() != expected) {
+                log.warn("Task counter drift for user: {} status: {} (counter {}, actual {})",
+                        userId, status, counter.getTaskCount(), expected);
+                counter.setTaskCount(expected);
+                repaired++;
+            }
+        }
+        return repaired;
+    }
+
+    private void adjust(UUID userId, Map<TaskStatus, Long> deltas) {
+        // Callers hold the user row lock (TaskVersionService.bump), which serializes counter row locks
+        for (Map.Entry<TaskStatus, Long> delta : deltas.entrySet()) {
+            if (taskCounterRepository.adjust(userId, delta.getKey(), delta.getValue()) == 0) {
+                log.info("Task counters missing for user: {}, rebuilding", userId);
+                reconcile(userId);
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.TaskEventDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process fan-out of committed task changes to {@code GET /api/tasks/stream} subscribers.
+ * Publishing never blocks: events are appended to a bounded per-subscriber buffer and written by a
+ * small dispatcher pool. A subscriber whose buffer overflows loses its pending events and receives a
+ * single {@code resync} event instead, telling the client to refetch. Idle subscribers hold no thread.
+ */
+@Service
+@Slf4j
+public class TaskEventBus {
+
+    static final String TASK_EVENT = "task";
+    static final String RESYNC_EVENT = "resync";
+
+    private final Map<UUID, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ExecutorService dispatcher;
+    private final int bufferSize;
+    private final long timeoutMillis;
+    private final Counter resyncs;
+
+    public TaskEventBus(@Value("${tasks.stream.buffer-size:256}") int bufferSize,
+                        @Value("${tasks.stream.timeout-ms:1800000}") long timeoutMillis,
+                        @Value("${tasks.stream.dispatch-threads:4}") int dispatchThreads,
+                        MeterRegistry meterRegistry) {
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeoutMillis;
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.dispatcher = Executors.newFixedThreadPool(dispatchThreads, runnable -> {
+            Thread thread = new Thread(runnable, "task-events-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.resyncs = Counter.builder("tasks.stream.resyncs")
+                .description("Subscribers that overflowed their buffer and were told to refetch")
+                .register(meterRegistry);
+        Gauge.builder("tasks.stream.subscribers", subscriberCount, AtomicInteger::get)
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(UUID userId) {
+        return subscribe(userId, new SseEmitter(timeoutMillis));
+    }
+
+    SseEmitter subscribe(UUID userId, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(userId, emitter);
+        subscribers.compute(userId, (id, targets) -> {
+            Set<Subscriber> updated = targets != null ? targets : ConcurrentHashMap.newKeySet();
+            updated.add(subscriber);
+            return updated;
+        });
+        subscriberCount.incrementAndGet();
+
+        emitter.onCompletion(subscriber::remove);
+        emitter.onTimeout(subscriber::remove);
+        emitter.onError(error -> subscriber.remove());
+        // Flushes the response headers so clients see the stream open before the first change
+        subscriber.heartbeat();
+        return emitter;
+    }
+
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        Set<Subscriber> targets = subscribers.get(event.userId());
+        if (targets == null) {
+            return;
+        }
+        for (Subscriber subscriber : targets) {
+            event.events().forEach(subscriber::offer);
+        }
+    }
+
+    /**
+     * Keeps idle connections from being closed by proxies and detects clients that went away.
+     */
+    @Scheduled(fixedDelayString = "${tasks.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        subscribers.values().forEach(targets -> targets.forEach(Subscriber::heartbeat));
+    }
+
+    int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(targets -> targets.forEach(subscriber -> subscriber.emitter.complete()));
+        dispatcher.shutdownNow();
+    }
+
+    private final class Subscriber {
+
+        private final UUID userId;
+        private final SseEmitter emitter;
+        private final Queue<TaskEventDto> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicBoolean overflowed = new AtomicBoolean();
+        private final AtomicBoolean heartbeatDue = new AtomicBoolean();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean removed = new AtomicBoolean();
+
+        Subscriber(UUID userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        void offer(TaskEventDto event) {
+            if (size.incrementAndGet() > bufferSize) {
+                size.decrementAndGet();
+                if (overflowed.compareAndSet(false, true)) {
+                    resyncs.increment();
+                }
+            } else {
+                pending.add(event);
+            }
+            schedule();
+        }
+
+        void heartbeat() {
+            heartbeatDue.set(true);
+            schedule();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    dispatcher.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    scheduled.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                if (overflowed.getAndSet(false)) {
+                    discardPending();
+                    emitter.send(SseEmitter.event().name(RESYNC_EVENT).data(""));
+                }
+                boolean sent = false;
+                TaskEventDto event;
+                while ((event = pending.poll()) != null) {
+                    size.decrementAndGet();
+                    emitter.send(SseEmitter.event().name(TASK_EVENT).data(event, MediaType.APPLICATION_JSON));
+                    sent = true;
+                }
+                if (heartbeatDue.getAndSet(false) && !sent) {
+                    emitter.send(SseEmitter.event().comment(""));
+                }
+            } catch (Exception e) {
+                log.debug("Closing task stream for user {}: {}", userId, e.getMessage());
+                remove();
+                emitter.completeWithError(e);
+                return;
+            } finally {
+                scheduled.set(false);
+            }
+            // Work offered while this drain was finishing would otherwise wait for the next offer
+            if (!pending.isEmpty() || overflowed.get() || heartbeatDue.get()) {
+                schedule();
+            }
+        }
+
+        private void discardPending() {
+            while (pending.poll() != null) {
+                size.decrementAndGet();
+            }
+        }
+
+        void remove() {
+            if (!removed.compareAndSet(false, true)) {
+                return;
+            }
+            subscriberCount.decrementAndGet();
+            subscribers.computeIfPresent(userId, (id, targets) -> {
+                targets.remove(this);
+                return targets.isEmpty() ? null : targets;
+            });
+        }
+    }
+}
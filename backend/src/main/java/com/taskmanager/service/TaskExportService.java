@@ -0,0 +1,104 @@
+package com.taskmanager.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.taskmanager.dto.TaskDto;
+import com.taskmanager.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Writes a user's tasks row by row as they are read from a forward-only cursor,
+ * so memory use does not depend on how many tasks the user has.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TaskExportService {
+
+    private static final String CSV_HEADER = "id,title,description,status,createdAt,updatedAt";
+
+    private final TaskRepository taskRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public long export(UUID userId, TaskExportFormat format, OutputStream out) throws IOException {
+        long count;
+        try (Stream<TaskDto> tasks = taskRepository.streamDtosByUserId(userId)) {
+            count = switch (format) {
+                case NDJSON -> writeNdjson(tasks.iterator(), out);
+                case CSV -> writeCsv(tasks.iterator(), out);
+            };
+        }
+        log.info("Exported {} tasks as {} for user: {}", count, format, userId);
+        return count;
+    }
+
+    private long writeNdjson(Iterator<TaskDto> tasks, OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(TaskDto.class);
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            while (tasks.hasNext()) {
+                writer.writeValue(generator, tasks.next());
+                generator.writeRaw('\n');
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private long writeCsv(Iterator<TaskDto> tasks, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        long count = 0;
+        while (tasks.hasNext()) {
+            TaskDto task = tasks.next();
+            writer.write(String.valueOf(task.getId()));
+            writer.write(',');
+            writeCsvField(writer, task.getTitle());
+            writer.write(',');
+            writeCsvField(writer, task.getDescription());
+            writer.write(',');
+            writer.write(String.valueOf(task.getStatus()));
+            writer.write(',');
+            writeCsvField(writer, task.getCreatedAt() != null ? task.getCreatedAt().toString() : null);
+            writer.write(',');
+            writeCsvField(writer, task.getUpdatedAt() != null ? task.getUpdatedAt().toString() : null);
+            writer.write('\n');
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    private void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
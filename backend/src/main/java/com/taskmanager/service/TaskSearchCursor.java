@@ -0,0 +1,41 @@
+package com.taskmanager.service;
+
+import com.taskmanager.exception.CustomExceptions.ValidationException;
+import com.taskmanager.repository.TaskSearchRepository.RankedTask;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque keyset position over {@code (rank, id)} used by paginated task search.
+ */
+record TaskSearchCursor(float rank, UUID id) {
+
+    private static final char SEPARATOR = '|';
+
+    static TaskSearchCursor of(RankedTask hit) {
+        return new TaskSearchCursor(hit.rank(), hit.task().getId());
+    }
+
+    String encode() {
+        String raw = Float.toString(rank) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static TaskSearchCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new ValidationException("Invalid cursor");
+            }
+            return new TaskSearchCursor(
+                    Float.parseFloat(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Invalid cursor");
+        }
+    }
+}
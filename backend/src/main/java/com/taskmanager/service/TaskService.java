@@ -1,98 +1,316 @@
 package com.taskmanager.service;
 
+import com.taskmanager.dto.ApiResponse;
+import com.taskmanager.dto.TaskBatchOperationDto;
+import com.taskmanager.dto.TaskBatchResultDto;
+import com.taskmanager.dto.TaskChangesDto;
 import com.taskmanager.dto.TaskDto;
+import com.taskmanager.dto.TaskEventDto;
+import com.taskmanager.dto.TaskPageDto;
 import com.taskmanager.dto.TaskStatsDto;
 import com.taskmanager.entity.Task;
 import com.taskmanager.entity.TaskStatus;
 import com.taskmanager.entity.User;
 import com.taskmanager.exception.CustomExceptions.TaskNotFoundException;
+import com.taskmanager.exception.CustomExceptions.TaskVersionMismatchException;
+import com.taskmanager.exception.CustomExceptions.ValidationException;
+import com.taskmanager.repository.TaskMutationRepository;
 import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.repository.TaskSearchRepository;
+import com.taskmanager.repository.TaskTombstoneRepository;
 import com.taskmanager.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@Timed(value = "tasks.service", description = "Task service calls by method")
 public class TaskService {
 
+    private static final int MAX_QUERY_LENGTH = 200;
+
     private final TaskRepository taskRepository;
+    private final TaskTombstoneRepository taskTombstoneRepository;
     private final UserRepository userRepository;
+    private final TaskCounterService taskCounterService;
+    private final TaskVersionService taskVersionService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${tasks.page.max-size:100}")
+    private int maxPageSize = 100;
+
+    @Value("${tasks.batch.max-size:1000}")
+    private int maxBatchSize = 1000;
+
+    @Value("${tasks.sync.retention-ms:2592000000}")
+    private long syncRetentionMillis = 2_592_000_000L;
 
     @Transactional(readOnly = true)
     public List<TaskDto> getAllTasks(UUID userId) {
-        return taskRepository.findByUserIdOrderByCreatedAtDesc(userId)
-                .stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
+        return taskRepository.findDtosByUserId(userId);
+    }
+
+    @Transactional(readOnly = true)
+    public TaskPageDto getTaskPage(UUID userId, String cursor, int limit) {
+        if (limit < 1) {
+            throw new ValidationException("Limit must be at least 1");
+        }
+        int pageSize = Math.min(limit, maxPageSize);
+        // Fetch one extra row to learn whether another page exists without a COUNT query
+        PageRequest fetch = PageRequest.ofSize(pageSize + 1);
+
+        List<TaskDto> tasks;
+        if (cursor == null || cursor.isBlank()) {
+            tasks = taskRepository.findFirstPageByUserId(userId, fetch);
+        } else {
+            TaskCursor after = TaskCursor.decode(cursor);
+            tasks = taskRepository.findPageByUserIdAfter(userId, after.createdAt(), after.id(), fetch);
+        }
+
+        boolean hasMore = tasks.size() > pageSize;
+        List<TaskDto> page = hasMore ? tasks.subList(0, pageSize) : tasks;
+
+        return TaskPageDto.builder()
+                .items(page)
+                .nextCursor(hasMore ? TaskCursor.of(page.get(page.size() - 1)).encode() : null)
+                .hasMore(hasMore)
+                .build();
     }
 
+    @Transactional(readOnly = true)
+    public TaskPageDto searchTasks(UUID userId, String query, String cursor, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new ValidationException("Search query is required");
+        }
+        if (query.length() > MAX_QUERY_LENGTH) {
+            throw new ValidationException("Search query must not exceed " + MAX_QUERY_LENGTH + " characters");
+        }
+        if (limit < 1) {
+            throw new ValidationException("Limit must be at least 1");
+        }
+        int pageSize = Math.min(limit, maxPageSize);
+
+        List<TaskSearchRepository.RankedTask> hits;
+        if (cursor == null || cursor.isBlank()) {
+            hits = taskRepository.search(userId, query.trim(), null, null, pageSize + 1);
+        } else {
+            TaskSearchCursor after = TaskSearchCursor.decode(cursor);
+            hits = taskRepository.search(userId, query.trim(), after.rank(), after.id(), pageSize + 1);
+        }
+
+        boolean hasMore = hits.size() > pageSize;
+        List<TaskSearchRepository.RankedTask> page = hasMore ? hits.subList(0, pageSize) : hits;
+
+        return TaskPageDto.builder()
+                .items(page.stream().map(TaskSearchRepository.RankedTask::task).collect(Collectors.toList()))
+                .nextCursor(hasMore ? TaskSearchCursor.of(page.get(page.size() - 1)).encode() : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Tasks created or updated and IDs deleted after {@code since}, read through the change sequence
+     * indexes so the work follows the amount of change rather than the number of tasks. The sequence
+     * is read before the rows: anything committed in between is sent again next time rather than lost.
+     * It comes from the version cache, so an unchanged collection costs no query and a change made on
+     * another node may show up one TTL later. Without a usable token the response only asks for a
+     * full reload.
+     * <p>
+     * Not read-only, so it always runs on the primary: the cached sequence follows the primary, and
+     * pairing it with rows from a lagging replica would move the token past changes the client never
+     * received.
+     */
+    @Transactional
+    public TaskChangesDto getChanges(UUID userId, String since) {
+        long now = System.currentTimeMillis();
+        long current = taskVersionService.currentVersion(userId);
+        if (since == null || since.isBlank()) {
+            return resync(current, now);
+        }
+
+        SyncToken token = SyncToken.decode(since);
+        if (token.changeSeq() > current) {
+            // Issued by a node that saw a newer version than the cached one
+            current = userRepository.findTasksVersionById(userId).orElse(0L);
+        }
+        if (token.changeSeq() > current || now - token.issuedAt() > syncRetentionMillis) {
+            return resync(current, now);
+        }
+
+        List<TaskDto> changed = List.of();
+        List<UUID> deleted = List.of();
+        if (token.changeSeq() < current) {
+            changed = taskRepository.findDtosChangedSince(userId, token.changeSeq());
+            deleted = taskTombstoneRepository.findTaskIdsDeletedSince(userId, token.changeSeq());
+        }
+        return TaskChangesDto.builder()
+                .changed(changed)
+                .deleted(deleted)
+                .token(new SyncToken(current, now).encode())
+                .build();
+    }
+
+    /**
+     * Loads by primary key so hot tasks are served from the second-level cache; the owner check
+     * reads the cached foreign key without loading the user.
+     */
     @Transactional(readOnly = true)
     public TaskDto getTaskById(UUID taskId, UUID userId) {
-        Task task = findTaskByIdAndUser(taskId, userId);
-        return toDto(task);
+        return taskRepository.findById(taskId)
+                .filter(task -> task.getUser().getId().equals(userId))
+                .map(TaskService::toDto)
+                .orElseThrow(() -> new TaskNotFoundException(taskId));
     }
 
     @Transactional
     public TaskDto createTask(TaskDto taskDto, UUID userId) {
+        long changeSeq = taskVersionService.bump(userId);
         User user = userRepository.getReferenceById(userId);
-
-        Task task = Task.builder()
-                .title(taskDto.getTitle())
-                .description(taskDto.getDescription())
-                .status(taskDto.getStatus() != null ? taskDto.getStatus() : TaskStatus.TODO)
-                .user(user)
-                .build();
+        Task task = newTask(taskDto, user, changeSeq);
 
         Task savedTask = taskRepository.save(task);
+        taskCounterService.taskCreated(userId, savedTask.getStatus());
+        TaskDto created = toDto(savedTask);
+        eventPublisher.publishEvent(TaskChangedEvent.of(userId, TaskEventDto.Type.CREATED, created.getId(), created));
         log.info("Task created: {} for user: {}", savedTask.getId(), userId);
-        return toDto(savedTask);
+        return created;
     }
 
+    /**
+     * Replaces title, description and status. With {@code expectedVersion} (from If-Match) a stale
+     * version fails with {@link TaskVersionMismatchException}; without it the latest version wins.
+     */
     @Transactional
-    public TaskDto updateTask(UUID taskId, TaskDto taskDto, UUID userId) {
-        Task task = findTaskByIdAndUser(taskId, userId);
-
-        task.setTitle(taskDto.getTitle());
-        task.setDescription(taskDto.getDescription());
-        if (taskDto.getStatus() != null) {
-            task.setStatus(taskDto.getStatus());
-        }
-
-        Task updatedTask = taskRepository.save(task);
+    public TaskDto updateTask(UUID taskId, TaskDto taskDto, UUID userId, Long expectedVersion) {
+        TaskMutationRepository.StatusUpdate update = taskRepository
+                .updateReturning(taskId, userId, expectedVersion, taskDto.getTitle(), taskDto.getDescription(),
+                        taskDto.getStatus(), LocalDateTime.now())
+                .orElseThrow(() -> missingOrStale(taskId, userId, expectedVersion));
+        TaskDto updated = changed(taskId, userId, update);
+        eventPublisher.publishEvent(TaskChangedEvent.of(userId, TaskEventDto.Type.UPDATED, taskId, updated));
         log.info("Task updated: {} for user: {}", taskId, userId);
-        return toDto(updatedTask);
+        return updated;
     }
 
+    /**
+     * Sets the status with a single UPDATE that also returns the replaced status for the counters.
+     */
     @Transactional
-    public TaskDto updateTaskStatus(UUID taskId, TaskStatus status, UUID userId) {
-        Task task = findTaskByIdAndUser(taskId, userId);
-        task.setStatus(status);
+    public TaskDto updateTaskStatus(UUID taskId, TaskStatus status, UUID userId, Long expectedVersion) {
+        TaskMutationRepository.StatusUpdate update = taskRepository
+                .updateStatusReturning(taskId, userId, status, expectedVersion, LocalDateTime.now())
+                .orElseThrow(() -> missingOrStale(taskId, userId, expectedVersion));
+        TaskDto updated = changed(taskId, userId, update);
 
-        Task updatedTask = taskRepository.save(task);
+        eventPublisher.publishEvent(TaskChangedEvent.of(userId, TaskEventDto.Type.STATUS_CHANGED, taskId, updated));
         log.info("Task status updated: {} to {} for user: {}", taskId, status, userId);
-        return toDto(updatedTask);
+        return updated;
     }
 
     @Transactional
     public void deleteTask(UUID taskId, UUID userId) {
-        Task task = findTaskByIdAndUser(taskId, userId);
-        taskRepository.delete(task);
+        TaskStatus status = taskRepository.deleteReturningStatus(taskId, userId)
+                .orElseThrow(() -> new TaskNotFoundException(taskId));
+        long changeSeq = taskVersionService.bump(userId);
+        taskRepository.recordDeletes(userId, List.of(taskId), changeSeq, LocalDateTime.now());
+
+        taskCounterService.taskDeleted(userId, status);
+        eventPublisher.publishEvent(TaskChangedEvent.of(userId, TaskEventDto.Type.DELETED, taskId, null));
         log.info("Task deleted: {} for user: {}", taskId, userId);
     }
 
+    /**
+     * Applies a mixed list of operations in one transaction. Referenced tasks are locked with a
+     * single query, writes are flushed together so Hibernate can batch them, and counter changes
+     * are applied once for the whole batch. Operations that fail are reported per item and do not
+     * affect the others.
+     */
+    @Transactional
+    public List<TaskBatchResultDto> applyBatch(List<TaskBatchOperationDto> operations, UUID userId) {
+        if (operations.size() > maxBatchSize) {
+            throw new ValidationException("Batch must not exceed " + maxBatchSize + " operations");
+        }
+
+        Set<UUID> ids = operations.stream()
+                .map(TaskBatchOperationDto::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<UUID, Task> tasks = new HashMap<>();
+        if (!ids.isEmpty()) {
+            taskRepository.findLockedByIdInAndUserId(ids, userId)
+                    .forEach(task -> tasks.put(task.getId(), task));
+        }
+        long changeSeq = taskVersionService.bump(userId);
+
+        User user = userRepository.getReferenceById(userId);
+        Map<TaskStatus, Long> counterDeltas = new EnumMap<>(TaskStatus.class);
+        List<UUID> deletedIds = new ArrayList<>();
+        Task[] affected = new Task[operations.size()];
+        ApiResponse.ErrorDetails[] errors = new ApiResponse.ErrorDetails[operations.size()];
+
+        for (int i = 0; i < operations.size(); i++) {
+            TaskBatchOperationDto operation = operations.get(i);
+            try {
+                affected[i] = applyOperation(operation, user, tasks, counterDeltas, changeSeq, deletedIds);
+            } catch (TaskNotFoundException e) {
+                errors[i] = new ApiResponse.ErrorDetails("TASK_NOT_FOUND", e.getMessage());
+            } catch (ValidationException e) {
+                errors[i] = new ApiResponse.ErrorDetails("VALIDATION_ERROR", e.getMessage());
+            }
+        }
+
+        taskRepository.flush();
+        taskRepository.recordDeletes(userId, deletedIds, changeSeq, LocalDateTime.now());
+        taskCounterService.applyDeltas(userId, counterDeltas);
+
+        List<TaskBatchResultDto> results = new ArrayList<>(operations.size());
+        List<TaskEventDto> events = new ArrayList<>(operations.size());
+        for (int i = 0; i < operations.size(); i++) {
+            TaskBatchOperationDto operation = operations.get(i);
+            TaskBatchResultDto.TaskBatchResultDtoBuilder result = TaskBatchResultDto.builder()
+                    .index(i)
+                    .type(operation.getType())
+                    .success(errors[i] == null)
+                    .error(errors[i]);
+            TaskDto task = affected[i] != null ? toDto(affected[i]) : null;
+            UUID id = task != null ? task.getId() : operation.getId();
+            results.add(result.id(id).task(task).build());
+            if (errors[i] == null) {
+                events.add(new TaskEventDto(eventType(operation.getType()), id, task));
+            }
+        }
+        if (!events.isEmpty()) {
+            eventPublisher.publishEvent(new TaskChangedEvent(userId, events));
+        }
+        log.info("Task batch applied: {} operations for user: {}", operations.size(), userId);
+        return results;
+    }
+
     @Transactional(readOnly = true)
     public TaskStatsDto getTaskStats(UUID userId) {
-        long todo = taskRepository.countByUserIdAndStatus(userId, TaskStatus.TODO);
-        long inProgress = taskRepository.countByUserIdAndStatus(userId, TaskStatus.IN_PROGRESS);
-        long completed = taskRepository.countByUserIdAndStatus(userId, TaskStatus.COMPLETED);
-        long total = taskRepository.countByUserId(userId);
+        Map<TaskStatus, Long> counts = taskCounterService.getCounts(userId);
+        long todo = counts.get(TaskStatus.TODO);
+        long inProgress = counts.get(TaskStatus.IN_PROGRESS);
+        long completed = counts.get(TaskStatus.COMPLETED);
+        long total = todo + inProgress + completed;
 
         return TaskStatsDto.builder()
                 .todo(todo)
@@ -102,12 +320,123 @@ public class TaskService {
                 .build();
     }
 
-    private Task findTaskByIdAndUser(UUID taskId, UUID userId) {
-        return taskRepository.findByIdAndUserId(taskId, userId)
-                .orElseThrow(() -> new TaskNotFoundException(taskId));
+    private Task applyOperation(TaskBatchOperationDto operation, User user, Map<UUID, Task> tasks,
+                                Map<TaskStatus, Long> counterDeltas, long changeSeq, List<UUID> deletedIds) {
+        switch (operation.getType()) {
+            case CREATE -> {
+                if (operation.getTask() == null) {
+                    throw new ValidationException("Task is required for CREATE");
+                }
+                Task task = taskRepository.save(newTask(operation.getTask(), user, changeSeq));
+                counterDeltas.merge(task.getStatus(), 1L, Long::sum);
+                return task;
+            }
+            case UPDATE -> {
+                if (operation.getTask() == null) {
+                    throw new ValidationException("Task is required for UPDATE");
+                }
+                Task task = batchTarget(operation, tasks);
+                counterDeltas.merge(task.getStatus(), -1L, Long::sum);
+                applyUpdate(task, operation.getTask());
+                task.setChangeSeq(changeSeq);
+                counterDeltas.merge(task.getStatus(), 1L, Long::sum);
+                return task;
+            }
+            case STATUS -> {
+                if (operation.getStatus() == null) {
+                    throw new ValidationException("Status is required for STATUS");
+                }
+                Task task = batchTarget(operation, tasks);
+                counterDeltas.merge(task.getStatus(), -1L, Long::sum);
+                task.setStatus(operation.getStatus());
+                task.setChangeSeq(changeSeq);
+                counterDeltas.merge(task.getStatus(), 1L, Long::sum);
+                return task;
+            }
+            case DELETE -> {
+                Task task = batchTarget(operation, tasks);
+                taskRepository.delete(task);
+                tasks.remove(task.getId());
+                deletedIds.add(task.getId());
+                counterDeltas.merge(task.getStatus(), -1L, Long::sum);
+                return null;
+            }
+            default -> throw new ValidationException("Unsupported operation: " + operation.getType());
+        }
+    }
+
+    private static TaskChangesDto resync(long changeSeq, long now) {
+        return TaskChangesDto.builder()
+                .changed(List.of())
+                .deleted(List.of())
+                .token(new SyncToken(changeSeq, now).encode())
+                .resync(true)
+                .build();
+    }
+
+    private static TaskEventDto.Type eventType(TaskBatchOperationDto.Type type) {
+        return switch (type) {
+            case CREATE -> TaskEventDto.Type.CREATED;
+            case UPDATE -> TaskEventDto.Type.UPDATED;
+            case STATUS -> TaskEventDto.Type.STATUS_CHANGED;
+            case DELETE -> TaskEventDto.Type.DELETED;
+        };
+    }
+
+    private Task batchTarget(TaskBatchOperationDto operation, Map<UUID, Task> tasks) {
+        if (operation.getId() == null) {
+            throw new ValidationException("Task ID is required for " + operation.getType());
+        }
+        Task task = tasks.get(operation.getId());
+        if (task == null) {
+            throw new TaskNotFoundException(operation.getId());
+        }
+        return task;
+    }
+
+    private Task newTask(TaskDto taskDto, User user, long changeSeq) {
+        return Task.builder()
+                .title(taskDto.getTitle())
+                .description(taskDto.getDescription())
+                .status(taskDto.getStatus() != null ? taskDto.getStatus() : TaskStatus.TODO)
+                .changeSeq(changeSeq)
+                .user(user)
+                .build();
+    }
+
+    private void applyUpdate(Task task, TaskDto taskDto) {
+        task.setTitle(taskDto.getTitle());
+        task.setDescription(taskDto.getDescription());
+        if (taskDto.getStatus() != null) {
+            task.setStatus(taskDto.getStatus());
+        }
+    }
+
+    /**
+     * Completes a task update that has already been applied: the version-guarded UPDATE decided the
+     * outcome, and only then is the user's version bumped to stamp the row for delta sync and the
+     * counters moved from the status it replaced.
+     */
+    private TaskDto changed(UUID taskId, UUID userId, TaskMutationRepository.StatusUpdate update) {
+        long changeSeq = taskVersionService.bump(userId);
+        taskRepository.recordChange(taskId, changeSeq);
+        taskCounterService.statusChanged(userId, update.previousStatus(), update.task().getStatus());
+        return update.task();
+    }
+
+    // Only reached when nothing matched, so the extra lookup stays off the success path
+    private RuntimeException missingOrStale(UUID taskId, UUID userId, Long expectedVersion) {
+        if (expectedVersion != null && taskRepository.existsByIdAndUserId(taskId, userId)) {
+            return new TaskVersionMismatchException(taskId);
+        }
+        return new TaskNotFoundException(taskId);
     }
 
-    private TaskDto toDto(Task task) {
+    /**
+     * The single entity-to-DTO mapping for write paths and cached single-task reads; list reads project
+     * into {@link TaskDto} in the query.
+     */
+    public static TaskDto toDto(Task task) {
         return TaskDto.builder()
                 .id(task.getId())
                 .title(task.getTitle())
@@ -115,6 +444,7 @@ public class TaskService {
                 .status(task.getStatus())
                 .createdAt(task.getCreatedAt())
                 .updatedAt(task.getUpdatedAt())
+                .version(task.getVersion())
                 .build();
     }
 }
@@ -0,0 +1,38 @@
+package com.taskmanager.service;
+
+import com.taskmanager.repository.TaskTombstoneRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Deletes tombstones older than the sync retention window. Clients holding older tokens are told to
+ * resync instead, so no delete can be missed.
+ */
+@Component
+@Slf4j
+public class TaskTombstonePurger {
+
+    // Tokens and tombstones are timestamped on different nodes, and a delete commits after its timestamp
+    private static final Duration GRACE = Duration.ofHours(1);
+
+    private final TaskTombstoneRepository taskTombstoneRepository;
+    private final Duration retention;
+
+    public TaskTombstonePurger(TaskTombstoneRepository taskTombstoneRepository,
+                               @Value("${tasks.sync.retention-ms:2592000000}") long retentionMillis) {
+        this.taskTombstoneRepository = taskTombstoneRepository;
+        this.retention = Duration.ofMillis(retentionMillis);
+    }
+
+    @Scheduled(cron = "${tasks.sync.purge-cron:0 15 3 * * *}")
+    public void purge() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention).minus(GRACE);
+        int deleted = taskTombstoneRepository.deleteOlderThan(cutoff);
+        log.info("Purged {} task tombstones older than {}", deleted, cutoff);
+    }
+}
@@ -0,0 +1,107 @@
+package com.taskmanager.service;
+
+import com.taskmanager.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Per-user version of the task collection, used to answer conditional GETs without reading tasks.
+ * The version lives in {@code users.tasks_version}; reads are served from a short-lived local cache
+ * that is updated when this node commits a mutation. The TTL bounds staleness for mutations
+ * committed by other nodes. The cache follows the primary, so with read replicas a body must be
+ * tagged through {@link #readVersioned} rather than with the cached version.
+ */
+@Service
+@Slf4j
+public class TaskVersionService {
+
+    private final UserRepository userRepository;
+    private final ReadYourWrites readYourWrites;
+    private final Map<UUID, CachedVersion> versions = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final boolean readsMayLag;
+
+    public TaskVersionService(UserRepository userRepository,
+                              ReadYourWrites readYourWrites,
+                              @Value("${tasks.etag.version-ttl-ms:2000}") long ttlMillis,
+                              @Value("${tasks.etag.max-entries:50000}") int maxEntries,
+                              @Value("${tasks.datasource.replicas:}") String replicaUrls) {
+        this.userRepository = userRepository;
+        this.readYourWrites = readYourWrites;
+        this.ttlMillis = ttlMillis;
+        this.maxEntries = maxEntries;
+        this.readsMayLag = !replicaUrls.isBlank();
+    }
+
+    public long currentVersion(UUID userId) {
+        long now = System.currentTimeMillis();
+        CachedVersion cached = versions.get(userId);
+        if (cached != null && now - cached.loadedAt() < ttlMillis) {
+            return cached.version();
+        }
+        long version = userRepository.findTasksVersionById(userId).orElse(0L);
+        remember(userId, version, now);
+        return version;
+    }
+
+    /**
+     * Runs a read in one read-only transaction together with the version that tags its result. With
+     * replicas the version is read first on the same connection, so it never covers changes the
+     * serving replica has not applied yet: a tag ahead of its body would answer later conditional
+     * GETs with 304 and hide those changes. Without replicas the cached version does the same job.
+     */
+    @Transactional(readOnly = true)
+    public <T> Versioned<T> readVersioned(UUID userId, Supplier<T> read) {
+        long version = readsMayLag ? userRepository.findTasksVersionById(userId).orElse(0L) : currentVersion(userId);
+        return new Versioned<>(version, read.get());
+    }
+
+    /**
+     * Increments the user's version inside the current mutation and publishes it locally on commit,
+     * when the user's reads also start going to the primary for a while ({@link ReadYourWrites}).
+     * Call it after writing or locking the existing tasks a mutation touches, so locks are always
+     * taken tasks first, then the user row. The increment holds that row until commit, so concurrent mutations of the
+     * same user commit in version order and the version can stamp their rows as the delta sync
+     * change sequence. It orders commits; it is not what detects conflicting task updates.
+     *
+     * @return the new version
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long bump(UUID userId) {
+        long version = userRepository.incrementTasksVersion(userId).orElse(0L);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                remember(userId, version, System.currentTimeMillis());
+                readYourWrites.recordWrite(userId);
+            }
+        });
+        return version;
+    }
+
+    private void remember(UUID userId, long version, long now) {
+        if (versions.size() >= maxEntries) {
+            versions.values().removeIf(entry -> now - entry.loadedAt() >= ttlMillis);
+        }
+        // Never move backwards: a slow reader must not overwrite a version published by a commit
+        versions.merge(userId, new CachedVersion(version, now),
+                (current, loaded) -> loaded.version() >= current.version() ? loaded : current);
+    }
+
+    public record Versioned<T>(long version, T body) {
+    }
+
+    private record CachedVersion(long version, long loadedAt) {
+    }
+}
@@ -4,43 +4,95 @@ import com.taskmanager.entity.User;
 import com.taskmanager.exception.CustomExceptions.UserNotFoundException;
 import com.taskmanager.exception.CustomExceptions.UsernameAlreadyExistsException;
 import com.taskmanager.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import com.taskmanager.security.PasswordHasher;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class UserService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
+    private final TaskCounterService taskCounterService;
+    private final UsernameLookupCache usernameCache;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean confirmMissesOnPrimary;
+
+    public UserService(UserRepository userRepository,
+                       PasswordHasher passwordHasher,
+                       TaskCounterService taskCounterService,
+                       UsernameLookupCache usernameCache,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${tasks.datasource.replicas:}") String replicaUrls) {
+        this.userRepository = userRepository;
+        this.passwordHasher = passwordHasher;
+        this.taskCounterService = taskCounterService;
+        this.usernameCache = usernameCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.confirmMissesOnPrimary = !replicaUrls.isBlank();
+    }
 
-    @Transactional
+    /**
+     * Hashes the password before opening the transaction, so a registration waiting for a hashing
+     * thread does not hold a database connection. The username check is part of the insert itself;
+     * a username already known to exist is refused before hashing.
+     */
     public User createUser(String username, String password) {
-        if (userRepository.existsByUsername(username)) {
+        if (usernameCache.isKnownToExist(username)) {
             throw new UsernameAlreadyExistsException(username);
         }
-
         User user = User.builder()
+                .id(UUID.randomUUID())
                 .username(username)
-                .password(passwordEncoder.encode(password))
+                .password(passwordHasher.encode(password))
+                .createdAt(LocalDateTime.now())
                 .build();
 
-        User savedUser = userRepository.save(user);
+        boolean inserted = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            if (!userRepository.insertIfAbsent(user)) {
+                return false;
+            }
+            taskCounterService.initialize(user.getId());
+            return true;
+        }));
+        // Either way the username now exists; this also drops a cached "unknown user" entry
+        usernameCache.record(username, true);
+        if (!inserted) {
+            throw new UsernameAlreadyExistsException(username);
+        }
         log.info("User created: {}", username);
-        return savedUser;
+        return user;
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Usernames recently found missing are rejected without opening a transaction. With replicas the
+     * lookup may be served by one; a miss is then confirmed on the primary before it is cached, so a
+     * user who has just registered can log in before the replica catches up.
+     */
     public User findByUsername(String username) {
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new UserNotFoundException(username));
+        if (usernameCache.isKnownMissing(username)) {
+            throw new UserNotFoundException(username);
+        }
+        Optional<User> user = readOnlyTransaction.execute(status -> userRepository.findByUsername(username));
+        if (user.isEmpty() && confirmMissesOnPrimary) {
+            user = transactionTemplate.execute(status -> userRepository.findByUsername(username));
+        }
+        usernameCache.record(username, user.isPresent());
+        return user.orElseThrow(() -> new UserNotFoundException(username));
     }
 
     public boolean checkPassword(User user, String rawPassword) {
-        return passwordEncoder.matches(rawPassword, user.getPassword());
+        return passwordHasher.matches(user.getUsername(), rawPassword, user.getPassword());
     }
 }
@@ -0,0 +1,71 @@
+package com.taskmanager.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers whether a username exists, so logins for unknown usernames and registrations of taken
+ * ones are answered without a query (or, for registrations, a password hash). Existing usernames
+ * stay for {@code tasks.auth.username-cache.positive-ttl-ms}; missing ones only for the much
+ * shorter {@code negative-ttl-ms}, which bounds how long a user registered on another node can be
+ * reported as unknown here. Published as {@code cache.*} meters with {@code cache=usernames}.
+ */
+@Component
+public class UsernameLookupCache {
+
+    private final Cache<String, Boolean> exists;
+
+    public UsernameLookupCache(@Value("${tasks.auth.username-cache.max-entries:100000}") long maxEntries,
+                               @Value("${tasks.auth.username-cache.positive-ttl-ms:600000}") long positiveTtlMillis,
+                               @Value("${tasks.auth.username-cache.negative-ttl-ms:30000}") long negativeTtlMillis,
+                               MeterRegistry meterRegistry) {
+        long positiveTtl = TimeUnit.MILLISECONDS.toNanos(positiveTtlMillis);
+        long negativeTtl = TimeUnit.MILLISECONDS.toNanos(negativeTtlMillis);
+        this.exists = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new Expiry<String, Boolean>() {
+                    @Override
+                    public long expireAfterCreate(String username, Boolean found, long currentTime) {
+                        return found ? positiveTtl : negativeTtl;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String username, Boolean found, long currentTime,
+                                                  long currentDuration) {
+                        return found ? positiveTtl : negativeTtl;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String username, Boolean found, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, exists, "usernames");
+    }
+
+    public boolean isKnownMissing(String username) {
+        return Boolean.FALSE.equals(exists.getIfPresent(username));
+    }
+
+    public boolean isKnownToExist(String username) {
+        return Boolean.TRUE.equals(exists.getIfPresent(username));
+    }
+
+    /**
+     * Records a lookup result. Also called after a registration commits, which replaces any
+     * negative entry for the username.
+     */
+    public void record(String username, boolean found) {
+        exists.put(username, found);
+    }
+}
@@ -0,0 +1,52 @@
+-- H2 counterpart of db/migration/postgresql/V1 for the test profile; no full-text search column.
+
+CREATE TABLE IF NOT EXISTS users (
+    id             uuid         NOT NULL PRIMARY KEY,
+    username       varchar(50)  NOT NULL,
+    -- H2 has no expression indexes; the case-insensitive unique index goes on this column instead
+    username_lower varchar(50)  GENERATED ALWAYS AS (LOWER(username)),
+    password       varchar(255) NOT NULL,
+    created_at     timestamp(6) NOT NULL,
+    tasks_version  bigint       NOT NULL DEFAULT 0
+);
+
+CREATE TABLE IF NOT EXISTS tasks (
+    id          uuid         NOT NULL PRIMARY KEY,
+    title       varchar(100) NOT NULL,
+    description varchar(500),
+    status      varchar(20)  NOT NULL CHECK (status IN ('TODO', 'IN_PROGRESS', 'COMPLETED')),
+    created_at  timestamp(6) NOT NULL,
+    updated_at  timestamp(6),
+    version     bigint       NOT NULL DEFAULT 0,
+    user_id     uuid         NOT NULL REFERENCES users (id)
+);
+
+-- Columns added since the tables were first created by ddl-auto
+ALTER TABLE users ADD COLUMN IF NOT EXISTS username_lower varchar(50) GENERATED ALWAYS AS (LOWER(username));
+ALTER TABLE users ADD COLUMN IF NOT EXISTS tasks_version bigint NOT NULL DEFAULT 0;
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
+
+CREATE TABLE IF NOT EXISTS task_counters (
+    user_id    uuid        NOT NULL,
+    status     varchar(20) NOT NULL CHECK (status IN ('TODO', 'IN_PROGRESS', 'COMPLETED')),
+    task_count bigint      NOT NULL,
+    PRIMARY KEY (user_id, status)
+);
+
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    id              uuid                        NOT NULL PRIMARY KEY,
+    token_hash      varchar(64)                 NOT NULL,
+    user_id         uuid                        NOT NULL,
+    family_id       uuid                        NOT NULL,
+    access_token_id uuid                        NOT NULL,
+    expires_at      timestamp(6) with time zone NOT NULL,
+    rotated_at      timestamp(6) with time zone,
+    revoked         boolean                     NOT NULL,
+    created_at      timestamp(6) with time zone NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    token_id   uuid                        NOT NULL PRIMARY KEY,
+    expires_at timestamp(6) with time zone NOT NULL,
+    revoked_at timestamp(6) with time zone NOT NULL
+);
@@ -0,0 +1,15 @@
+-- H2 counterpart of db/migration/postgresql/V2; index names match so IndexUsageTest can check plans.
+
+CREATE INDEX IF NOT EXISTS idx_tasks_user_created_id ON tasks (user_id, created_at DESC, id);
+CREATE INDEX IF NOT EXISTS idx_tasks_user_status ON tasks (user_id, status);
+
+-- Fails on usernames that differ only by case; PostgreSQL names them first (see postgresql/V2)
+CREATE UNIQUE INDEX IF NOT EXISTS ux_users_username_lower ON users (username_lower);
+CREATE INDEX IF NOT EXISTS idx_users_username ON users (username);
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_refresh_tokens_token_hash ON refresh_tokens (token_hash);
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_family ON refresh_tokens (family_id);
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_expires_at ON refresh_tokens (expires_at);
+
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_revoked_at ON revoked_tokens (revoked_at);
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_expires_at ON revoked_tokens (expires_at);
@@ -0,0 +1,15 @@
+-- H2 counterpart of db/migration/postgresql/V3.
+
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS change_seq bigint NOT NULL DEFAULT 0;
+
+CREATE INDEX IF NOT EXISTS idx_tasks_user_change_seq ON tasks (user_id, change_seq);
+
+CREATE TABLE IF NOT EXISTS task_tombstones (
+    task_id    uuid         NOT NULL PRIMARY KEY,
+    user_id    uuid         NOT NULL,
+    change_seq bigint       NOT NULL,
+    deleted_at timestamp(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_task_tombstones_user_change_seq ON task_tombstones (user_id, change_seq);
+CREATE INDEX IF NOT EXISTS idx_task_tombstones_deleted_at ON task_tombstones (deleted_at);
@@ -0,0 +1,52 @@
+-- One index per repository access path; IndexUsageTest checks the plans.
+
+-- Task lists, keyset pages and exports: WHERE user_id = ? ORDER BY created_at DESC, id
+CREATE INDEX IF NOT EXISTS idx_tasks_user_created_id ON tasks (user_id, created_at DESC, id);
+
+-- Status counts and counter reconciliation: WHERE user_id = ? AND status = ?
+CREATE INDEX IF NOT EXISTS idx_tasks_user_status ON tasks (user_id, status);
+
+-- Usernames are unique regardless of case. Natural-id lookups compare the exact username, which the
+-- expression index cannot serve, so that column keeps a plain index. Accounts created before this that
+-- differ only by case have to be renamed by hand first (see README); name them rather than
+-- fail on the index.
+DO $$
+DECLARE
+    duplicates text;
+BEGIN
+    SELECT string_agg(username, ', ' ORDER BY username) INTO duplicates
+    FROM users
+    WHERE lower(username) IN (SELECT lower(username) FROM users GROUP BY lower(username) HAVING count(*) > 1);
+    IF duplicates IS NOT NULL THEN
+        RAISE EXCEPTION 'Usernames that differ only by case must be renamed before migrating: %', duplicates;
+    END IF;
+END $$;
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_users_username_lower ON users (lower(username));
+CREATE INDEX IF NOT EXISTS idx_users_username ON users (username);
+
+-- The exact-match unique constraint left by ddl-auto would make registration's
+-- ON CONFLICT ((lower(username))) raise instead of skipping on a concurrent exact duplicate
+DO $$
+DECLARE
+    constraint_name text;
+BEGIN
+    FOR constraint_name IN
+        SELECT c.conname
+        FROM pg_constraint c
+        JOIN pg_attribute a ON a.attrelid = c.conrelid AND a.attnum = c.conkey[1]
+        WHERE c.conrelid = 'users'::regclass
+          AND c.contype = 'u'
+          AND array_length(c.conkey, 1) = 1
+          AND a.attname = 'username'
+    LOOP
+        EXECUTE format('ALTER TABLE users DROP CONSTRAINT %I', constraint_name);
+    END LOOP;
+END $$;
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_refresh_tokens_token_hash ON refresh_tokens (token_hash);
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_family ON refresh_tokens (family_id);
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_expires_at ON refresh_tokens (expires_at);
+
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_revoked_at ON revoked_tokens (revoked_at);
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_expires_at ON revoked_tokens (expires_at);
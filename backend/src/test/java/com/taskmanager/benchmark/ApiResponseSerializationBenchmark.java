@@ -0,0 +1,83 @@
+package com.taskmanager.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.taskmanager.config.JacksonConfig;
+import com.taskmanager.dto.ApiResponse;
+import com.taskmanager.dto.TaskDto;
+import com.taskmanager.entity.TaskStatus;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of the {@code GET /api/tasks} response body with the application's
+ * {@link ObjectMapper}, written to a discarding stream as the message converter would write it
+ * to the response.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ApiResponseSerializationBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int tasks;
+
+    private ObjectWriter writer;
+    private ApiResponse<List<TaskDto>> response;
+    private CountingOutputStream out;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+        writer = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructParametricType(ApiResponse.class, objectMapper.getTypeFactory()
+                        .constructCollectionType(List.class, TaskDto.class)));
+
+        LocalDateTime now = LocalDateTime.now();
+        TaskStatus[] statuses = TaskStatus.values();
+        List<TaskDto> list = new ArrayList<>(tasks);
+        for (int i = 0; i < tasks; i++) {
+            list.add(new TaskDto(UUID.randomUUID(), "Task " + i, "Description of task " + i,
+                    statuses[i % statuses.length], now.minusMinutes(i), now, (long) i % 7));
+        }
+        response = ApiResponse.success(list);
+        out = new CountingOutputStream();
+    }
+
+    @Benchmark
+    public long serialize() throws IOException {
+        out.count = 0;
+        writer.writeValue(out, response);
+        return out.count;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+
+        @Override
+        public void close() {
+            // writeValue closes the target; keep the stream reusable
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.taskmanager.benchmark;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.taskmanager.config.JacksonConfig;
+import com.taskmanager.dto.ApiResponse;
+import com.taskmanager.dto.TaskDto;
+import com.taskmanager.entity.TaskStatus;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and decoding of the {@code GET /api/tasks} response body as JSON, Smile and CBOR with
+ * the mappers behind the application's message converters. The {@code bytes} and
+ * {@code encodings} counters give the payload size ({@code bytes / encodings}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BinaryFormatBenchmark {
+
+    @Param({"json", "smile", "cbor"})
+    private String format;
+
+    @Param({"1000", "100000"})
+    private int tasks;
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private ApiResponse<List<TaskDto>> response;
+    private byte[] encoded;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Payload {
+        public long bytes;
+        public long encodings;
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        JacksonConfig config = new JacksonConfig();
+        ObjectMapper objectMapper = switch (format) {
+            case "json" -> config.objectMapper();
+            case "smile" -> config.smileObjectMapper();
+            case "cbor" -> config.cborObjectMapper();
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        };
+        JavaType type = objectMapper.getTypeFactory().constructParametricType(ApiResponse.class,
+                objectMapper.getTypeFactory().constructCollectionType(List.class, TaskDto.class));
+        writer = objectMapper.writerFor(type);
+        reader = objectMapper.readerFor(type);
+
+        LocalDateTime now = LocalDateTime.now();
+        TaskStatus[] statuses = TaskStatus.values();
+        List<TaskDto> list = new ArrayList<>(tasks);
+        for (int i = 0; i < tasks; i++) {
+            list.add(new TaskDto(UUID.randomUUID(), "Task " + i, "Description of task " + i,
+                    statuses[i % statuses.length], now.minusMinutes(i), now, (long) i % 7));
+        }
+        response = ApiResponse.success(list);
+        encoded = writer.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public int encode(Payload payload) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(encoded.length);
+        writer.writeValue(out, response);
+        payload.bytes += out.size();
+        payload.encodings++;
+        return out.size();
+    }
+
+    @Benchmark
+    public ApiResponse<List<TaskDto>> decode() throws IOException {
+        return reader.readValue(encoded);
+    }
+}
@@ -0,0 +1,95 @@
+package com.taskmanager.benchmark;
+
+import com.taskmanager.security.JwtUtil;
+import com.taskmanager.security.UserPrincipal;
+import com.taskmanager.security.VerifiedTokenCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of issuing a token at login and of authenticating a bearer token in {@code JwtFilter}.
+ * <p>
+ * Run with:
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main JwtVerificationBenchmark"
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "benchmarkSecretKeyForJWTTokenGenerationThatIsAtLeast256BitsLong";
+
+    private SecretKey secretKey;
+    private JwtUtil jwtUtil;
+    private VerifiedTokenCache cache;
+    private String token;
+    private UUID userId;
+
+    @Setup
+    public void setUp() {
+        secretKey = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        jwtUtil = new JwtUtil(SECRET, 3_600_000);
+        cache = new VerifiedTokenCache(10_000, new SimpleMeterRegistry());
+        userId = UUID.randomUUID();
+        token = jwtUtil.generateToken("benchmark", userId);
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtUtil.generateToken("benchmark", userId);
+    }
+
+    /**
+     * The previous filter path: validate, extract username and extract user id, each building a parser.
+     */
+    @Benchmark
+    public UserPrincipal tripleParse() {
+        Claims validated = legacyClaims(token);
+        if (validated.getExpiration().before(new Date())) {
+            throw new IllegalStateException("expired");
+        }
+        String username = legacyClaims(token).getSubject();
+        UUID userId = UUID.fromString(legacyClaims(token).get("userId", String.class));
+        return new UserPrincipal(userId, username);
+    }
+
+    @Benchmark
+    public UserPrincipal singleParse() {
+        return jwtUtil.toPrincipal(jwtUtil.parseToken(token));
+    }
+
+    @Benchmark
+    public UserPrincipal cached() {
+        String key = cache.keyFor(token);
+        UserPrincipal principal = cache.get(key);
+        if (principal == null) {
+            Claims claims = jwtUtil.parseToken(token);
+            principal = jwtUtil.toPrincipal(claims);
+            cache.put(key, principal, claims.getExpiration().getTime());
+        }
+        return principal;
+    }
+
+    private Claims legacyClaims(String token) {
+        return Jwts.parser()
+                .verifyWith(secretKey)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
@@ -0,0 +1,118 @@
+package com.taskmanager.benchmark;
+
+import com.taskmanager.TaskManagerApplication;
+import com.taskmanager.dto.TaskBatchOperationDto;
+import com.taskmanager.dto.TaskBatchResultDto;
+import com.taskmanager.dto.TaskDto;
+import com.taskmanager.entity.TaskStatus;
+import com.taskmanager.entity.User;
+import com.taskmanager.security.JwtUtil;
+import com.taskmanager.service.TaskService;
+import com.taskmanager.service.UserService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end request latency with all metrics recorded (production histogram buckets included)
+ * versus with meters, observations and the application's instrumentation switched off. The
+ * difference between the two {@code metrics} values is the instrumentation overhead per request;
+ * the in-memory database keeps requests short, so the relative overhead is an upper bound.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 20, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(2)
+@State(Scope.Benchmark)
+public class MetricsOverheadBenchmark {
+
+    private static final int TASKS = 200;
+
+    @Param({"true", "false"})
+    public boolean metrics;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest listPage;
+    private List<HttpRequest> statusUpdates;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<String> properties = new ArrayList<>(List.of(
+                "server.port=0", "logging.level.com.taskmanager=WARN", "spring.main.banner-mode=off",
+                "tasks.rate-limit.enabled=false"));
+        if (metrics) {
+            properties.addAll(List.of(
+                    "management.observations.enable.spring.security=false",
+                    "management.metrics.distribution.slo[http.server.requests]=25ms,50ms,100ms,250ms,500ms,1s,2500ms",
+                    "management.metrics.distribution.slo[tasks.service]=5ms,10ms,25ms,50ms,100ms,250ms,1s",
+                    "management.metrics.distribution.slo[spring.data.repository.invocations]=1ms,5ms,10ms,25ms,50ms,100ms,500ms",
+                    "management.metrics.distribution.slo[jwt.verification]=50us,250us,1ms,5ms",
+                    "management.metrics.distribution.slo[db.queries.per.request]=1,2,3,5,10,20,50"));
+        } else {
+            properties.addAll(List.of(
+                    "tasks.metrics.enabled=false",
+                    "management.metrics.enable.all=false",
+                    "management.observations.enable.all=false",
+                    "management.metrics.data.repository.autotime.enabled=false"));
+        }
+        context = new SpringApplicationBuilder(TaskManagerApplication.class)
+                .properties(properties.toArray(String[]::new))
+                .run();
+        String baseUrl = "http://localhost:" + context.getEnvironment().getRequiredProperty("local.server.port");
+
+        User user = context.getBean(UserService.class)
+                .createUser("bench-" + UUID.randomUUID().toString().substring(0, 8), "password123");
+        String authorization = "Bearer " + context.getBean(JwtUtil.class).generateToken(user.getUsername(), user.getId());
+        List<TaskBatchOperationDto> operations = new ArrayList<>(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            operations.add(TaskBatchOperationDto.builder()
+                    .type(TaskBatchOperationDto.Type.CREATE)
+                    .task(TaskDto.builder().title("Task " + i).description("Description " + i).build())
+                    .build());
+        }
+
+        statusUpdates = new ArrayList<>(TASKS);
+        TaskStatus[] statuses = TaskStatus.values();
+        for (TaskBatchResultDto result : context.getBean(TaskService.class).applyBatch(operations, user.getId())) {
+            TaskStatus status = statuses[statusUpdates.size() % statuses.length];
+            statusUpdates.add(HttpRequest.newBuilder(URI.create(baseUrl + "/api/tasks/" + result.getId() + "/status"))
+                    .header("Authorization", authorization)
+                    .header("Content-Type", "application/json")
+                    .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"status\":\"" + status + "\"}"))
+                    .build());
+        }
+        listPage = HttpRequest.newBuilder(URI.create(baseUrl + "/api/tasks?limit=20"))
+                .header("Authorization", authorization)
+                .GET()
+                .build();
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int listPage() throws Exception {
+        return client.send(listPage, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Benchmark
+    public int updateStatus() throws Exception {
+        HttpRequest request = statusUpdates.get(next++ % statusUpdates.size());
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
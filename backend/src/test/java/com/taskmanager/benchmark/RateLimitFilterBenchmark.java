@@ -0,0 +1,93 @@
+package com.taskmanager.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.security.RateLimitFilter;
+import com.taskmanager.security.UserPrincipal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextImpl;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of {@link RateLimitFilter} on an authenticated read, against the same request
+ * passed straight to the chain. At 100k requests per second, staying under 1 µs keeps the filter
+ * under a tenth of one core; {@code users} shows the difference between one hot bucket shared by
+ * all threads and many distinct ones.
+ * <p>
+ * Run with:
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main RateLimitFilterBenchmark"
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class RateLimitFilterBenchmark {
+
+    private static final FilterChain NO_OP = (request, response) -> { };
+
+    @Param({"1", "10000"})
+    private int users;
+
+    private RateLimitFilter filter;
+    private String filteredAttribute;
+    private SecurityContext[] contexts;
+
+    @State(Scope.Thread)
+    public static class Request {
+
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks");
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        int next;
+    }
+
+    @Setup
+    public void setUp() {
+        // Limits high enough that nothing is rejected: this measures the admit path
+        filter = new RateLimitFilter(true, 100_000, 600_000, 1e9, 1_000_000, 1e9, 1_000_000, 1e9, 1_000_000,
+                new ObjectMapper(), new SimpleMeterRegistry());
+        // OncePerRequestFilter marks the request as filtered; cleared so every call is measured
+        filteredAttribute = RateLimitFilter.class.getName() + ".FILTERED";
+        contexts = new SecurityContext[users];
+        for (int i = 0; i < users; i++) {
+            UserPrincipal principal = new UserPrincipal(UUID.randomUUID(), "user-" + i);
+            contexts[i] = new SecurityContextImpl(
+                    new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public void baseline(Request state) throws ServletException, IOException {
+        SecurityContextHolder.setContext(contexts[state.next++ % users]);
+        state.request.removeAttribute(filteredAttribute);
+        NO_OP.doFilter(state.request, state.response);
+    }
+
+    @Benchmark
+    public void rateLimited(Request state) throws ServletException, IOException {
+        SecurityContextHolder.setContext(contexts[state.next++ % users]);
+        state.request.removeAttribute(filteredAttribute);
+        filter.doFilter(state.request, state.response, NO_OP);
+    }
+}
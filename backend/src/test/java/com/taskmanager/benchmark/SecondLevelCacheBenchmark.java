@@ -0,0 +1,113 @@
+package com.taskmanager.benchmark;
+
+import com.taskmanager.TaskManagerApplication;
+import com.taskmanager.config.QueryCountingDataSource;
+import com.taskmanager.dto.TaskBatchOperationDto;
+import com.taskmanager.dto.TaskBatchResultDto;
+import com.taskmanager.dto.TaskDto;
+import com.taskmanager.entity.TaskStatus;
+import com.taskmanager.service.TaskService;
+import com.taskmanager.service.UserService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A read-heavy mix over 100 users with 100 tasks each: 18 task reads, one login lookup and one
+ * status change per 20 operations, with and without the Hibernate second-level cache. Besides
+ * latency, the {@code statements} and {@code operations} counters give the JDBC statements issued
+ * per operation, i.e. the database load the cache removes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SecondLevelCacheBenchmark {
+
+    private static final int USERS = 100;
+    private static final int TASKS_PER_USER = 100;
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    @Param({"true", "false"})
+    public boolean secondLevelCache;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private UserService userService;
+    private final List<UUID> userIds = new ArrayList<>();
+    private final List<String> usernames = new ArrayList<>();
+    private final List<List<UUID>> taskIds = new ArrayList<>();
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Queries {
+        public long statements;
+        public long operations;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(TaskManagerApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("logging.level.com.taskmanager=WARN", "spring.main.banner-mode=off",
+                        "spring.jpa.properties.hibernate.cache.use_second_level_cache=" + secondLevelCache)
+                .run();
+        taskService = context.getBean(TaskService.class);
+        userService = context.getBean(UserService.class);
+
+        List<TaskBatchOperationDto> operations = new ArrayList<>(TASKS_PER_USER);
+        for (int i = 0; i < TASKS_PER_USER; i++) {
+            operations.add(TaskBatchOperationDto.builder()
+                    .type(TaskBatchOperationDto.Type.CREATE)
+                    .task(TaskDto.builder().title("Task " + i).description("Description " + i).build())
+                    .build());
+        }
+        for (int u = 0; u < USERS; u++) {
+            String username = "cache-" + UUID.randomUUID().toString().substring(0, 8);
+            UUID userId = userService.createUser(username, "password123").getId();
+            usernames.add(username);
+            userIds.add(userId);
+            taskIds.add(taskService.applyBatch(operations, userId).stream().map(TaskBatchResultDto::getId).toList());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object readHeavyMix(Queries queries) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int user = random.nextInt(USERS);
+        int roll = random.nextInt(20);
+        try (QueryCountingDataSource.Scope scope = QueryCountingDataSource.count()) {
+            Object result;
+            if (roll == 0) {
+                result = userService.findByUsername(usernames.get(user));
+            } else if (roll == 1) {
+                result = taskService.updateTaskStatus(randomTask(user, random), STATUSES[random.nextInt(STATUSES.length)],
+                        userIds.get(user), null);
+            } else {
+                result = taskService.getTaskById(randomTask(user, random), userIds.get(user));
+            }
+            queries.statements += scope.statements();
+            queries.operations++;
+            return result;
+        }
+    }
+
+    private UUID randomTask(int user, ThreadLocalRandom random) {
+        List<UUID> tasks = taskIds.get(user);
+        return tasks.get(random.nextInt(tasks.size()));
+    }
+}
@@ -0,0 +1,36 @@
+package com.taskmanager.benchmark;
+
+import com.taskmanager.TaskManagerApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time from start to a ready application context, migrations included, with Hibernate leaving the
+ * schema alone ({@code none}), checking the entities against it ({@code validate}, the configured
+ * mode) and with the former {@code update}, which introspects every table and alters it on top. Each invocation starts and closes a full context.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StartupBenchmark {
+
+    @Param({"none", "validate", "update"})
+    public String ddlAuto;
+
+    @Benchmark
+    public void startUp() {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(TaskManagerApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("logging.level.com.taskmanager=WARN", "spring.main.banner-mode=off",
+                        "spring.jpa.hibernate.ddl-auto=" + ddlAuto)
+                .run();
+        context.close();
+    }
+}
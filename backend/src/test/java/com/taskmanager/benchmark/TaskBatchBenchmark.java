@@ -0,0 +1,76 @@
+package com.taskmanager.benchmark;
+
+import com.taskmanager.TaskManagerApplication;
+import com.taskmanager.dto.TaskBatchOperationDto;
+import com.taskmanager.dto.TaskDto;
+import com.taskmanager.service.TaskService;
+import com.taskmanager.service.UserService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of 1,000 task creates issued as individual service calls versus one batch.
+ * Runs against the H2 test profile, so it understates the gain seen over a network round-trip.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskBatchBenchmark {
+
+    private static final int OPERATIONS = 1_000;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private UUID userId;
+    private List<TaskBatchOperationDto> batch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(TaskManagerApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("logging.level.com.taskmanager=WARN", "spring.main.banner-mode=off")
+                .run();
+        taskService = context.getBean(TaskService.class);
+        userId = context.getBean(UserService.class)
+                .createUser("bench-" + UUID.randomUUID().toString().substring(0, 8), "password123")
+                .getId();
+
+        batch = new ArrayList<>(OPERATIONS);
+        for (int i = 0; i < OPERATIONS; i++) {
+            batch.add(TaskBatchOperationDto.builder()
+                    .type(TaskBatchOperationDto.Type.CREATE)
+                    .task(TaskDto.builder().title("Task " + i).build())
+                    .build());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int singleCalls() {
+        int created = 0;
+        for (TaskBatchOperationDto operation : batch) {
+            taskService.createTask(operation.getTask(), userId);
+            created++;
+        }
+        return created;
+    }
+
+    @Benchmark
+    public int batch() {
+        return taskService.applyBatch(batch, userId).size();
+    }
+}
@@ -0,0 +1,43 @@
+package com.taskmanager.benchmark;
+
+import com.taskmanager.dto.TaskDto;
+import com.taskmanager.entity.Task;
+import com.taskmanager.entity.TaskStatus;
+import com.taskmanager.service.TaskService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of mapping a task entity to its DTO on the write paths.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskDtoMappingBenchmark {
+
+    private Task task;
+
+    @Setup
+    public void setUp() {
+        task = Task.builder()
+                .id(UUID.randomUUID())
+                .title("Prepare quarterly report")
+                .description("Collect numbers from every team and draft the summary")
+                .status(TaskStatus.IN_PROGRESS)
+                .createdAt(LocalDateTime.now().minusDays(3))
+                .updatedAt(LocalDateTime.now())
+                .version(4L)
+                .build();
+    }
+
+    @Benchmark
+    public TaskDto toDto() {
+        return TaskService.toDto(task);
+    }
+}
@@ -0,0 +1,89 @@
+package com.taskmanager.benchmark;
+
+import com.taskmanager.TaskManagerApplication;
+import com.taskmanager.dto.TaskDto;
+import com.taskmanager.entity.TaskStatus;
+import com.taskmanager.service.TaskService;
+import com.taskmanager.service.UserService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency distribution of status updates and deletes under concurrent load, one user per thread.
+ * Uses the H2 test profile by default; pass {@code -jvmArgsAppend -Dspring.datasource.url=...}
+ * (plus driver, credentials and dialect) to measure against PostgreSQL, where saved round-trips show.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(8)
+@Fork(1)
+public class TaskMutationBenchmark {
+
+    private static final int TASKS_PER_USER = 100;
+
+    @State(Scope.Benchmark)
+    public static class Application {
+
+        ConfigurableApplicationContext context;
+        TaskService taskService;
+        UserService userService;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            context = new SpringApplicationBuilder(TaskManagerApplication.class)
+                    .web(WebApplicationType.NONE)
+                    .properties("logging.level.com.taskmanager=WARN", "spring.main.banner-mode=off")
+                    .run();
+            taskService = context.getBean(TaskService.class);
+            userService = context.getBean(UserService.class);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            context.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class UserTasks {
+
+        UUID userId;
+        List<UUID> taskIds;
+
+        @Setup(Level.Trial)
+        public void setUp(Application app) {
+            userId = app.userService
+                    .createUser("bench-" + UUID.randomUUID().toString().substring(0, 8), "password123")
+                    .getId();
+            taskIds = new ArrayList<>(TASKS_PER_USER);
+            for (int i = 0; i < TASKS_PER_USER; i++) {
+                taskIds.add(app.taskService.createTask(TaskDto.builder().title("Task " + i).build(), userId).getId());
+            }
+        }
+    }
+
+    @Benchmark
+    public TaskDto updateStatus(Application app, UserTasks tasks) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        UUID taskId = tasks.taskIds.get(random.nextInt(TASKS_PER_USER));
+        TaskStatus status = TaskStatus.values()[random.nextInt(TaskStatus.values().length)];
+        return app.taskService.updateTaskStatus(taskId, status, tasks.userId, null);
+    }
+
+    @Benchmark
+    public UUID createThenDelete(Application app, UserTasks tasks) {
+        UUID taskId = app.taskService.createTask(TaskDto.builder().title("Short-lived").build(), tasks.userId).getId();
+        app.taskService.deleteTask(taskId, tasks.userId);
+        return taskId;
+    }
+}
@@ -0,0 +1,98 @@
+package com.taskmanager.benchmark;
+
+import com.taskmanager.TaskManagerApplication;
+import com.taskmanager.dto.TaskBatchOperationDto;
+import com.taskmanager.dto.TaskDto;
+import com.taskmanager.entity.Task;
+import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.service.TaskService;
+import com.taskmanager.service.UserService;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Listing a 10k-task user through managed entities plus {@code toDto} copying versus the
+ * {@link TaskRepository#findDtosByUserId} projection. Run with {@code -prof gc} to compare
+ * {@code gc.alloc.rate.norm}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskReadPathBenchmark {
+
+    private static final int TASKS = 10_000;
+
+    private ConfigurableApplicationContext context;
+    private TaskRepository taskRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnly;
+    private UUID userId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(TaskManagerApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("logging.level.com.taskmanager=WARN", "spring.main.banner-mode=off")
+                .run();
+        taskRepository = context.getBean(TaskRepository.class);
+        entityManager = context.getBean(EntityManager.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        userId = context.getBean(UserService.class)
+                .createUser("bench-" + UUID.randomUUID().toString().substring(0, 8), "password123")
+                .getId();
+        List<TaskBatchOperationDto> operations = new ArrayList<>(1_000);
+        for (int i = 0; i < 1_000; i++) {
+            operations.add(TaskBatchOperationDto.builder()
+                    .type(TaskBatchOperationDto.Type.CREATE)
+                    .task(TaskDto.builder().title("Task " + i).description("Description " + i).build())
+                    .build());
+        }
+        TaskService taskService = context.getBean(TaskService.class);
+        for (int i = 0; i < TASKS / operations.size(); i++) {
+            taskService.applyBatch(operations, userId);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<TaskDto> entityHydration() {
+        return readOnly.execute(status -> entityManager
+                .createQuery("SELECT t FROM Task t WHERE t.user.id = :userId ORDER BY t.createdAt DESC", Task.class)
+                .setParameter("userId", userId)
+                .getResultStream()
+                .map(task -> TaskDto.builder()
+                        .id(task.getId())
+                        .title(task.getTitle())
+                        .description(task.getDescription())
+                        .status(task.getStatus())
+                        .createdAt(task.getCreatedAt())
+                        .updatedAt(task.getUpdatedAt())
+                        .build())
+                .collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public List<TaskDto> dtoProjection() {
+        return readOnly.execute(status -> taskRepository.findDtosByUserId(userId));
+    }
+}
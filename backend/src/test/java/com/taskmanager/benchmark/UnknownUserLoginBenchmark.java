@@ -0,0 +1,82 @@
+package com.taskmanager.benchmark;
+
+import com.taskmanager.TaskManagerApplication;
+import com.taskmanager.config.QueryCountingDataSource;
+import com.taskmanager.dto.AuthRequestDto;
+import com.taskmanager.exception.CustomExceptions.UserNotFoundException;
+import com.taskmanager.service.AuthService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A flood of logins for 10,000 usernames that do not exist, as in credential stuffing, with and
+ * without negative entries in the username cache. The {@code statements} and {@code operations}
+ * counters give the JDBC statements each attempt costs the database.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class UnknownUserLoginBenchmark {
+
+    private static final int UNKNOWN_USERS = 10_000;
+
+    @Param({"true", "false"})
+    public boolean negativeCache;
+
+    private ConfigurableApplicationContext context;
+    private AuthService authService;
+    private AuthRequestDto[] attempts;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Queries {
+        public long statements;
+        public long operations;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(TaskManagerApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("logging.level.com.taskmanager=WARN", "spring.main.banner-mode=off",
+                        "tasks.auth.username-cache.negative-ttl-ms=" + (negativeCache ? 30_000 : 0))
+                .run();
+        authService = context.getBean(AuthService.class);
+
+        attempts = new AuthRequestDto[UNKNOWN_USERS];
+        for (int i = 0; i < UNKNOWN_USERS; i++) {
+            attempts[i] = new AuthRequestDto("unknown-" + UUID.randomUUID(), "password123");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object unknownUserLogin(Queries queries) {
+        AuthRequestDto attempt = attempts[ThreadLocalRandom.current().nextInt(UNKNOWN_USERS)];
+        try (QueryCountingDataSource.Scope scope = QueryCountingDataSource.count()) {
+            Object result;
+            try {
+                result = authService.login(attempt);
+            } catch (UserNotFoundException e) {
+                result = e;
+            }
+            queries.statements += scope.statements();
+            queries.operations++;
+            return result;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.taskmanager.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two separate in-memory databases stand in for a primary and its replica; each knows its own name,
+ * so every query shows where it was routed.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SwitchableDataSource replica;
+    private AtomicBoolean recentWrite;
+    private ReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        replica = new SwitchableDataSource(database("replica"));
+        recentWrite = new AtomicBoolean();
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", replica);
+        routing = new ReplicaRoutingDataSource(database("primary"), replicas, recentWrite::get, "SELECT 0",
+                Duration.ofSeconds(2), Duration.ofHours(1), meterRegistry);
+        routing.checkHealth();
+
+        DataSource dataSource = lazy(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        routing.close();
+    }
+
+    @Test
+    @DisplayName("Read-only transactions go to the replica, others to the primary")
+    void routesByTransactionReadOnlyFlag() {
+        assertThat(readOnly.execute(status -> node())).isEqualTo("replica");
+        assertThat(readWrite.execute(status -> node())).isEqualTo("primary");
+        assertThat(node()).isEqualTo("primary");
+
+        assertThat(connections("replica-1", "read")).isEqualTo(1);
+        assertThat(connections("primary", "write")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Reads stay on the primary during the read-your-writes window")
+    void recentWriter_ReadsFromPrimary() {
+        recentWrite.set(true);
+
+        assertThat(readOnly.execute(status -> node())).isEqualTo("primary");
+        assertThat(connections("primary", "recent-write")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("A failing replica is taken out of rotation until a health check passes")
+    void failingReplica_FailsOverToPrimary() {
+        replica.down = true;
+
+        assertThat(readOnly.execute(status -> node())).isEqualTo("primary");
+        assertThat(readOnly.execute(status -> node())).isEqualTo("primary");
+        assertThat(connections("primary", "failover")).isEqualTo(2);
+        assertThat(meterRegistry.get("db.replica.healthy").gauge().value()).isZero();
+
+        replica.down = false;
+        routing.checkHealth();
+
+        assertThat(readOnly.execute(status -> node())).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("A replica lagging beyond the limit does not serve reads")
+    void laggingReplica_ServesNoReads() {
+        ReplicaRoutingDataSource lagging = new ReplicaRoutingDataSource(database("primary"),
+                Map.of("replica-1", database("replica")), () -> false, "SELECT 30",
+                Duration.ofSeconds(2), Duration.ofHours(1), new SimpleMeterRegistry());
+        try {
+            lagging.checkHealth();
+            DataSource dataSource = lazy(lagging);
+            TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+            transaction.setReadOnly(true);
+
+            assertThat(transaction.execute(status -> new JdbcTemplate(dataSource)
+                    .queryForObject("SELECT name FROM node", String.class))).isEqualTo("primary");
+        } finally {
+            lagging.close();
+        }
+    }
+
+    private String node() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private double connections(String target, String reason) {
+        return meterRegistry.get("db.routing.connections").tag("target", target).tag("reason", reason)
+                .counter().count();
+    }
+
+    private static DataSource lazy(DataSource routing) {
+        LazyConnectionDataSourceProxy lazy = new LazyConnectionDataSourceProxy();
+        lazy.setDefaultAutoCommit(true);
+        lazy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        lazy.setTargetDataSource(routing);
+        lazy.afterPropertiesSet();
+        return lazy;
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE node (name VARCHAR(16))");
+        jdbc.update("INSERT INTO node VALUES (?)", name);
+        return dataSource;
+    }
+
+    private static final class SwitchableDataSource extends DelegatingDataSource {
+
+        private volatile boolean down;
+
+        private SwitchableDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (down) {
+                throw new SQLException("Connection refused");
+            }
+            return super.getConnection();
+        }
+    }
+}
@@ -1,39 +1,65 @@
 package com.taskmanager.controller;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.taskmanager.config.JacksonConfig;
+import com.taskmanager.dto.ApiResponse;
+import com.taskmanager.dto.TaskBatchOperationDto;
+import com.taskmanager.dto.TaskBatchRequestDto;
+import com.taskmanager.dto.TaskBatchResultDto;
+import com.taskmanager.dto.TaskChangesDto;
 import com.taskmanager.dto.TaskDto;
+import com.taskmanager.dto.TaskPageDto;
 import com.taskmanager.dto.TaskStatsDto;
 import com.taskmanager.dto.TaskStatusUpdateDto;
 import com.taskmanager.entity.TaskStatus;
 import com.taskmanager.exception.CustomExceptions.TaskNotFoundException;
+import com.taskmanager.exception.CustomExceptions.TaskVersionMismatchException;
 import com.taskmanager.exception.GlobalExceptionHandler;
 import com.taskmanager.security.UserPrincipal;
+import com.taskmanager.service.TaskEventBus;
+import com.taskmanager.service.TaskExportFormat;
+import com.taskmanager.service.TaskExportService;
 import com.taskmanager.service.TaskService;
+import com.taskmanager.service.TaskVersionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.MethodParameter;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.bind.support.WebDataBinderFactory;
 import org.springframework.web.context.request.NativeWebRequest;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.method.support.ModelAndViewContainer;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Supplier;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -46,10 +72,24 @@ class TaskControllerTest {
     @Mock
     private TaskService taskService;
 
+    @Mock
+    private TaskExportService taskExportService;
+
+    @Mock
+    private TaskVersionService taskVersionService;
+
+    @Mock
+    private TaskEventBus taskEventBus;
+
+    @Spy
+    private ConditionalGetSupport conditionalGet = new ConditionalGetSupport(new SimpleMeterRegistry());
+
     @InjectMocks
     private TaskController taskController;
 
     private ObjectMapper objectMapper;
+    private ObjectMapper smileMapper;
+    private ObjectMapper cborMapper;
 
     private static final UUID USER_ID = UUID.fromString("11111111-1111-1111-1111-111111111111");
     private UUID taskId;
@@ -77,12 +117,23 @@ class TaskControllerTest {
             }
         };
 
+        JacksonConfig jacksonConfig = new JacksonConfig();
+        smileMapper = jacksonConfig.smileObjectMapper();
+        cborMapper = jacksonConfig.cborObjectMapper();
+
         mockMvc = MockMvcBuilders.standaloneSetup(taskController)
                 .setControllerAdvice(new GlobalExceptionHandler())
-                .setMessageConverters(converter)
+                .setMessageConverters(converter,
+                        new MappingJackson2SmileHttpMessageConverter(smileMapper),
+                        new MappingJackson2CborHttpMessageConverter(cborMapper))
                 .setCustomArgumentResolvers(principalResolver)
                 .build();
 
+        // Without replicas the body is tagged with the cached version
+        lenient().when(taskVersionService.readVersioned(any(), any())).thenAnswer(invocation ->
+                new TaskVersionService.Versioned<>(taskVersionService.currentVersion(invocation.getArgument(0)),
+                        invocation.<Supplier<?>>getArgument(1).get()));
+
         taskId = UUID.randomUUID();
 
         taskDto = TaskDto.builder()
@@ -107,6 +158,85 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.data[0].title").value("Test Task"));
     }
 
+    @Test
+    @DisplayName("GET /api/tasks?limit= - Returns a page with next cursor")
+    void getTaskPage_ReturnsPage() throws Exception {
+        TaskPageDto page = TaskPageDto.builder()
+                .items(List.of(taskDto))
+                .nextCursor("next")
+                .hasMore(true)
+                .build();
+        when(taskService.getTaskPage(USER_ID, "abc", 1)).thenReturn(page);
+
+        mockMvc.perform(get("/api/tasks").param("limit", "1").param("cursor", "abc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items[0].title").value("Test Task"))
+                .andExpect(jsonPath("$.data.nextCursor").value("next"))
+                .andExpect(jsonPath("$.data.hasMore").value(true));
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks/search - Returns ranked matches")
+    void searchTasks_ReturnsPage() throws Exception {
+        TaskPageDto page = TaskPageDto.builder()
+                .items(List.of(taskDto))
+                .hasMore(false)
+                .build();
+        when(taskService.searchTasks(USER_ID, "test", null, 20)).thenReturn(page);
+
+        mockMvc.perform(get("/api/tasks/search").param("q", "test"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items[0].title").value("Test Task"))
+                .andExpect(jsonPath("$.data.hasMore").value(false));
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks/changes - Returns changes, tombstones and the next token")
+    void getChanges_ReturnsDelta() throws Exception {
+        UUID deletedId = UUID.randomUUID();
+        TaskChangesDto changes = TaskChangesDto.builder()
+                .changed(List.of(taskDto))
+                .deleted(List.of(deletedId))
+                .token("next")
+                .build();
+        when(taskService.getChanges(USER_ID, "abc")).thenReturn(changes);
+
+        mockMvc.perform(get("/api/tasks/changes").param("since", "abc"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-store"))
+                .andExpect(jsonPath("$.data.changed[0].title").value("Test Task"))
+                .andExpect(jsonPath("$.data.deleted[0]").value(deletedId.toString()))
+                .andExpect(jsonPath("$.data.token").value("next"))
+                .andExpect(jsonPath("$.data.resync").value(false));
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks/export - Streams tasks as NDJSON")
+    void exportTasks_StreamsNdjson() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(2);
+            out.write("{\"title\":\"Test Task\"}\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        }).when(taskExportService).export(eq(USER_ID), eq(TaskExportFormat.NDJSON), any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(get("/api/tasks/export").param("format", "ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson"))
+                .andExpect(content().string("{\"title\":\"Test Task\"}\n"));
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks/export - Returns 422 for unknown format")
+    void exportTasks_Returns422ForUnknownFormat() throws Exception {
+        mockMvc.perform(get("/api/tasks/export").param("format", "xml"))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.error.code").value("VALIDATION_ERROR"));
+    }
+
     @Test
     @DisplayName("GET /api/tasks/{id} - Returns task by ID")
     void getTaskById_ReturnsTask() throws Exception {
@@ -118,6 +248,120 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.data.title").value("Test Task"));
     }
 
+    @Test
+    @DisplayName("GET /api/tasks - Returns 304 when the collection version is unchanged")
+    void getAllTasks_Returns304WhenNotModified() throws Exception {
+        when(taskVersionService.currentVersion(USER_ID)).thenReturn(7L);
+
+        mockMvc.perform(get("/api/tasks").header("If-None-Match", "\"tasks-7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"tasks-7\""));
+
+        verify(taskService, never()).getAllTasks(any());
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks - Returns a fresh ETag when the collection changed")
+    void getAllTasks_ReturnsNewETagWhenModified() throws Exception {
+        when(taskVersionService.currentVersion(USER_ID)).thenReturn(8L);
+        when(taskService.getAllTasks(USER_ID)).thenReturn(List.of(taskDto));
+
+        mockMvc.perform(get("/api/tasks").header("If-None-Match", "\"tasks-7\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"tasks-8\""))
+                .andExpect(header().string("Cache-Control", "no-cache, private"));
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks - Tags the body with the version it was read at, not the cached one")
+    void getAllTasks_TagsBodyWithVersionReadAlongside() throws Exception {
+        when(taskVersionService.currentVersion(USER_ID)).thenReturn(8L);
+        when(taskVersionService.readVersioned(eq(USER_ID), any()))
+                .thenReturn(new TaskVersionService.Versioned<>(7L, List.of(taskDto)));
+
+        mockMvc.perform(get("/api/tasks").header("If-None-Match", "\"tasks-7\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"tasks-7\""));
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks - Returns the same envelope as Smile when asked for it")
+    void getAllTasks_ReturnsSmileWhenAccepted() throws Exception {
+        when(taskService.getAllTasks(USER_ID)).thenReturn(List.of(taskDto));
+
+        byte[] body = mockMvc.perform(get("/api/tasks").accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andExpect(header().string("Vary", "Accept"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        ApiResponse<List<TaskDto>> response = smileMapper.readValue(body, new TypeReference<>() {});
+        assertThat(response.isSuccess()).isTrue();
+        assertThat(response.getData()).containsExactly(taskDto);
+    }
+
+    @Test
+    @DisplayName("POST /api/tasks - Accepts and returns CBOR")
+    void createTask_AcceptsCbor() throws Exception {
+        TaskDto inputDto = TaskDto.builder()
+                .title("New Task")
+                .description("Description")
+                .build();
+
+        when(taskService.createTask(inputDto, USER_ID)).thenReturn(taskDto);
+
+        byte[] body = mockMvc.perform(post("/api/tasks")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(cborMapper.writeValueAsBytes(inputDto)))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        ApiResponse<TaskDto> response = cborMapper.readValue(body, new TypeReference<>() {});
+        assertThat(response.getData()).isEqualTo(taskDto);
+        assertThat(response.getMessage()).isEqualTo("Task created successfully");
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks/{id} - Returns 304 without loading when the user version is unchanged")
+    void getTaskById_Returns304ForCurrentVersion() throws Exception {
+        when(taskVersionService.currentVersion(USER_ID)).thenReturn(3L);
+
+        String tag = "\"task-" + taskId + "-3-abc\"";
+
+        mockMvc.perform(get("/api/tasks/{id}", taskId).header("If-None-Match", tag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", tag));
+
+        verify(taskService, never()).getTaskById(any(), any());
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks/{id} - Does not answer with 304 for another task's tag")
+    void getTaskById_IgnoresTagOfAnotherTask() throws Exception {
+        when(taskVersionService.currentVersion(USER_ID)).thenReturn(3L);
+        when(taskService.getTaskById(taskId, USER_ID)).thenReturn(taskDto);
+        TaskDto otherTask = TaskDto.builder().id(UUID.randomUUID()).version(taskDto.getVersion()).build();
+
+        mockMvc.perform(get("/api/tasks/{id}", taskId)
+                        .header("If-None-Match", conditionalGet.taskTag(3L, otherTask)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", conditionalGet.taskTag(3L, taskDto)));
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks/{id} - Returns 304 when the task itself did not change")
+    void getTaskById_Returns304WhenTaskUnchanged() throws Exception {
+        when(taskVersionService.currentVersion(USER_ID)).thenReturn(3L);
+        when(taskService.getTaskById(taskId, USER_ID)).thenReturn(taskDto);
+        String previous = conditionalGet.taskTag(2L, taskDto);
+
+        mockMvc.perform(get("/api/tasks/{id}", taskId).header("If-None-Match", previous))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", conditionalGet.taskTag(3L, taskDto)));
+    }
+
     @Test
     @DisplayName("GET /api/tasks/{id} - Returns 404 when not found")
     void getTaskById_Returns404WhenNotFound() throws Exception {
@@ -170,7 +414,7 @@ class TaskControllerTest {
                 .status(TaskStatus.IN_PROGRESS)
                 .build();
 
-        when(taskService.updateTask(eq(taskId), any(TaskDto.class), eq(USER_ID)))
+        when(taskService.updateTask(eq(taskId), any(TaskDto.class), eq(USER_ID), eq(null)))
                 .thenReturn(taskDto);
 
         mockMvc.perform(put("/api/tasks/{id}", taskId)
@@ -186,17 +430,37 @@ class TaskControllerTest {
     void updateTaskStatus_ReturnsUpdatedTask() throws Exception {
         TaskStatusUpdateDto statusDto = new TaskStatusUpdateDto(TaskStatus.COMPLETED);
 
-        when(taskService.updateTaskStatus(taskId, TaskStatus.COMPLETED, USER_ID))
+        taskDto.setVersion(5L);
+        when(taskService.updateTaskStatus(taskId, TaskStatus.COMPLETED, USER_ID, 4L))
                 .thenReturn(taskDto);
 
         mockMvc.perform(patch("/api/tasks/{id}/status", taskId)
+                        .header("If-Match", "\"task-" + taskId + "-12-4\"")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(statusDto)))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"task-" + taskId + "-5\""))
                 .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.version").value(5))
                 .andExpect(jsonPath("$.message").value("Task status updated successfully"));
     }
 
+    @Test
+    @DisplayName("PATCH /api/tasks/{id}/status - Returns 412 for a stale If-Match")
+    void updateTaskStatus_Returns412ForStaleVersion() throws Exception {
+        TaskStatusUpdateDto statusDto = new TaskStatusUpdateDto(TaskStatus.COMPLETED);
+
+        when(taskService.updateTaskStatus(taskId, TaskStatus.COMPLETED, USER_ID, 2L))
+                .thenThrow(new TaskVersionMismatchException(taskId));
+
+        mockMvc.perform(patch("/api/tasks/{id}/status", taskId)
+                        .header("If-Match", "\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(statusDto)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.error.code").value("PRECONDITION_FAILED"));
+    }
+
     @Test
     @DisplayName("DELETE /api/tasks/{id} - Deletes a task")
     void deleteTask_ReturnsSuccess() throws Exception {
@@ -208,6 +472,31 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.message").value("Task deleted successfully"));
     }
 
+    @Test
+    @DisplayName("POST /api/tasks/batch - Returns per-item results")
+    void applyBatch_ReturnsResults() throws Exception {
+        TaskBatchRequestDto request = new TaskBatchRequestDto(List.of(
+                TaskBatchOperationDto.builder()
+                        .type(TaskBatchOperationDto.Type.DELETE)
+                        .id(taskId)
+                        .build()));
+        TaskBatchResultDto result = TaskBatchResultDto.builder()
+                .index(0)
+                .type(TaskBatchOperationDto.Type.DELETE)
+                .success(true)
+                .id(taskId)
+                .build();
+
+        when(taskService.applyBatch(any(), eq(USER_ID))).thenReturn(List.of(result));
+
+        mockMvc.perform(post("/api/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].success").value(true))
+                .andExpect(jsonPath("$.data[0].id").value(taskId.toString()));
+    }
+
     @Test
     @DisplayName("GET /api/tasks/stats - Returns task statistics")
     void getTaskStats_ReturnsStats() throws Exception {
@@ -0,0 +1,165 @@
+package com.taskmanager.loadtest;
+
+import com.taskmanager.security.JwtUtil;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Cold-start comparison of the default build (the repackaged jar) and the optimized build
+ * ({@code mvn -Poptimized package}: AOT plus AppCDS). Each build is started {@code runs} times as a
+ * separate JVM; reported are the time from process start to the first {@code 200} from
+ * {@code GET /api/tasks} and the resident set size at that moment.
+ *
+ * <pre>
+ * mvn package -DskipTests && mvn -Poptimized package
+ * mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *   -Dexec.args="-cp %classpath -Druns=5 com.taskmanager.loadtest.ColdStartComparison"
+ * </pre>
+ *
+ * Both builds use the database from {@code application.yml} (PGHOST and friends), so PostgreSQL
+ * must be running. RSS is read from {@code /proc} or {@code ps}; it is reported as n/a elsewhere.
+ */
+public class ColdStartComparison {
+
+    private static final int RUNS = Integer.getInteger("runs", 5);
+    private static final int PORT = Integer.getInteger("port", 18080);
+    private static final Duration TIMEOUT = Duration.ofSeconds(Integer.getInteger("timeout", 120));
+    private static final String SECRET = System.getProperty("jwt.secret",
+            "mySecretKeyForJWTTokenGenerationThatIsAtLeast256BitsLong");
+    private static final Path TARGET = Path.of(System.getProperty("target", "target"));
+
+    public static void main(String[] args) throws Exception {
+        Path defaultJar = TARGET.resolve(System.getProperty("defaultJar", "task-manager-1.0.0.jar"));
+        Path optimized = TARGET.resolve("optimized");
+        String token = "Bearer " + new JwtUtil(SECRET, 3_600_000).generateToken("cold-start", UUID.randomUUID());
+
+        List<Build> builds = List.of(
+                new Build("default", TARGET.toFile(),
+                        List.of("-jar", TARGET.relativize(defaultJar).toString())),
+                new Build("optimized", optimized.toFile(),
+                        List.of("-XX:SharedArchiveFile=task-manager.jsa", "-Dspring.aot.enabled=true",
+                                "-Dspring.profiles.active=prod", "-jar", "task-manager.jar")));
+
+        List<Result> results = new ArrayList<>();
+        for (Build build : builds) {
+            if (!new File(build.directory(), build.jar()).isFile()) {
+                System.out.println("Skipping " + build.name() + ": " + build.jar() + " not found in " + build.directory());
+                continue;
+            }
+            long[] millis = new long[RUNS];
+            long[] rssKb = new long[RUNS];
+            for (int run = 0; run < RUNS; run++) {
+                Sample sample = start(build, token);
+                millis[run] = sample.millis();
+                rssKb[run] = sample.rssKb();
+                System.out.printf("%s run %d: %d ms, RSS %s%n", build.name(), run + 1, sample.millis(), formatRss(sample.rssKb()));
+            }
+            results.add(new Result(build.name(), millis, rssKb));
+        }
+
+        System.out.printf("%n%-10s %10s %10s %10s %12s%n", "build", "min ms", "median ms", "max ms", "median RSS");
+        for (Result result : results) {
+            System.out.println(result);
+        }
+    }
+
+    private static Sample start(Build build, String token) throws Exception {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-Djwt.secret=" + SECRET);
+        command.addAll(build.arguments());
+        command.add("--server.port=" + PORT);
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + PORT + "/api/tasks"))
+                .header("Authorization", token)
+                .timeout(Duration.ofSeconds(5))
+                .build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(build.directory())
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            while (true) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(build.name() + " exited with " + process.exitValue());
+                }
+                if (Duration.ofNanos(System.nanoTime() - start).compareTo(TIMEOUT) > 0) {
+                    throw new IllegalStateException(build.name() + " did not serve /api/tasks within " + TIMEOUT);
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        long millis = (System.nanoTime() - start) / 1_000_000;
+                        return new Sample(millis, rssKb(process.pid()));
+                    }
+                } catch (ConnectException e) {
+                    // Not listening yet
+                }
+                Thread.sleep(10);
+            }
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private static long rssKb(long pid) {
+        try {
+            Path status = Path.of("/proc", Long.toString(pid), "status");
+            if (Files.isReadable(status)) {
+                return Files.readAllLines(status).stream()
+                        .filter(line -> line.startsWith("VmRSS:"))
+                        .mapToLong(line -> Long.parseLong(line.replaceAll("\\D", "")))
+                        .findFirst()
+                        .orElse(-1);
+            }
+            Process ps = new ProcessBuilder("ps", "-o", "rss=", "-p", Long.toString(pid)).start();
+            String output = new String(ps.getInputStream().readAllBytes()).trim();
+            return output.isEmpty() ? -1 : Long.parseLong(output);
+        } catch (IOException | NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static String formatRss(long kb) {
+        return kb < 0 ? "n/a" : (kb / 1024) + " MB";
+    }
+
+    private record Build(String name, File directory, List<String> arguments) {
+        String jar() {
+            return arguments.get(arguments.indexOf("-jar") + 1);
+        }
+    }
+
+    private record Sample(long millis, long rssKb) {
+    }
+
+    private record Result(String build, long[] millis, long[] rssKb) {
+        @Override
+        public String toString() {
+            long[] sortedMillis = millis.clone();
+            long[] sortedRss = rssKb.clone();
+            Arrays.sort(sortedMillis);
+            Arrays.sort(sortedRss);
+            return String.format("%-10s %10d %10d %10d %12s", build, sortedMillis[0],
+                    sortedMillis[sortedMillis.length / 2], sortedMillis[sortedMillis.length - 1],
+                    formatRss(sortedRss[sortedRss.length / 2]));
+        }
+    }
+}
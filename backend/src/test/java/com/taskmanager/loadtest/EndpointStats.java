@@ -0,0 +1,62 @@
+package com.taskmanager.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram and outcome counters for one operation. Latencies are recorded in microseconds
+ * from the request's intended start, so a generator that falls behind does not hide queueing.
+ */
+final class EndpointStats {
+
+    private final Operation operation;
+    private final Histogram latencies = new ConcurrentHistogram(3);
+    private final LongAdder errors = new LongAdder();
+
+    EndpointStats(Operation operation) {
+        this.operation = operation;
+    }
+
+    void recordSuccess(long latencyNanos) {
+        latencies.recordValue(Math.max(1, latencyNanos / 1_000));
+    }
+
+    void recordError() {
+        errors.increment();
+    }
+
+    void reset() {
+        latencies.reset();
+        errors.reset();
+    }
+
+    Operation operation() {
+        return operation;
+    }
+
+    long successes() {
+        return latencies.getTotalCount();
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    double errorRate() {
+        long total = successes() + errors();
+        return total == 0 ? 0 : (double) errors() / total;
+    }
+
+    /**
+     * @return the latency at {@code percentile} (0-100) in milliseconds
+     */
+    double percentileMillis(double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1_000.0;
+    }
+
+    double maxMillis() {
+        return latencies.getMaxValue() / 1_000.0;
+    }
+}
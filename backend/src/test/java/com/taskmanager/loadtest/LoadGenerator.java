@@ -0,0 +1,293 @@
+package com.taskmanager.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.TaskManagerApplication;
+import com.taskmanager.dto.TaskBatchOperationDto;
+import com.taskmanager.dto.TaskBatchResultDto;
+import com.taskmanager.dto.TaskDto;
+import com.taskmanager.entity.TaskStatus;
+import com.taskmanager.entity.User;
+import com.taskmanager.security.JwtUtil;
+import com.taskmanager.service.TaskService;
+import com.taskmanager.service.UserService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator for release checks. The application is started on a random port,
+ * {@code users} users are seeded with {@code tasks} tasks each, and requests are then issued at a
+ * fixed {@code rate} per second regardless of how fast responses come back, each picking an
+ * operation from {@code mix} and a random user. Latency is measured from when a request was due,
+ * not when it was sent, so queueing in the generator counts against the server.
+ *
+ * <pre>
+ * mvn -Ploadtest verify -Dloadtest.args="-Drate=400 -Dduration=120 -Dslo=*.p99=250,login.p99=800"
+ * </pre>
+ *
+ * Prints requests, errors, throughput and p50/p99/p99.9 per operation and exits with status 1 if
+ * any {@code slo} threshold (see {@link SloThresholds}) is breached. Requests that would exceed
+ * {@code maxInFlight} are counted as errors rather than queued. The H2 test profile is used unless
+ * {@code -Dspring.datasource.url=...} (plus driver and credentials) points at PostgreSQL.
+ */
+public class LoadGenerator {
+
+    private static final int USERS = Integer.getInteger("users", 50);
+    private static final int TASKS_PER_USER = Integer.getInteger("tasks", 100);
+    private static final int RATE = Integer.getInteger("rate", 200);
+    private static final int DURATION_SECONDS = Integer.getInteger("duration", 60);
+    private static final int WARMUP_SECONDS = Integer.getInteger("warmup", 10);
+    private static final int MAX_IN_FLIGHT = Integer.getInteger("maxInFlight", 2000);
+    private static final int LIST_LIMIT = Integer.getInteger("listLimit", 20);
+    private static final String MIX = System.getProperty("mix",
+            "login=2,list=40,get=10,create=15,update=5,status=15,delete=5,stats=8");
+    private static final String SLO = System.getProperty("slo", "*.errors=0.01");
+
+    private static final String PASSWORD = "password123";
+    private static final int SEED_BATCH_SIZE = 1000;
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final String baseUrl;
+    private final List<Session> sessions;
+
+    LoadGenerator(String baseUrl, List<Session> sessions) {
+        this.baseUrl = baseUrl;
+        this.sessions = sessions;
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new EndpointStats(operation));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        WorkloadMix mix = WorkloadMix.parse(MIX);
+        SloThresholds slo = SloThresholds.parse(SLO);
+
+        List<EndpointStats> results;
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TaskManagerApplication.class)
+                .properties("server.port=0", "logging.level.com.taskmanager=WARN", "spring.main.banner-mode=off",
+                        // Every virtual user logs in from the same address
+                        "tasks.rate-limit.enabled=false")
+                .run()) {
+            int port = Integer.parseInt(context.getEnvironment().getRequiredProperty("local.server.port"));
+            System.out.printf("Seeding %d users with %d tasks each%n", USERS, TASKS_PER_USER);
+            LoadGenerator generator = new LoadGenerator("http://localhost:" + port, seed(context));
+            System.out.printf("%d req/s for %ds (+%ds warmup), mix %s, SLOs %s%n",
+                    RATE, DURATION_SECONDS, WARMUP_SECONDS, mix, slo);
+            results = generator.run(mix);
+        }
+
+        System.out.printf("%n%-7s %10s %8s %9s %9s %9s %9s %9s%n",
+                "op", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (EndpointStats result : results) {
+            System.out.printf("%-7s %10d %8d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    result.operation().key(), result.successes(), result.errors(),
+                    (double) result.successes() / DURATION_SECONDS, result.percentileMillis(50),
+                    result.percentileMillis(99), result.percentileMillis(99.9), result.maxMillis());
+        }
+
+        List<String> breaches = slo.breaches(results);
+        if (!breaches.isEmpty()) {
+            System.out.println();
+            breaches.forEach(breach -> System.out.println("SLO breached: " + breach));
+            System.exit(1);
+        }
+        System.out.println("\nAll SLOs met");
+    }
+
+    private static List<Session> seed(ConfigurableApplicationContext context) {
+        UserService userService = context.getBean(UserService.class);
+        TaskService taskService = context.getBean(TaskService.class);
+        JwtUtil jwtUtil = context.getBean(JwtUtil.class);
+
+        List<TaskBatchOperationDto> batch = new ArrayList<>(SEED_BATCH_SIZE);
+        for (int i = 0; i < Math.min(TASKS_PER_USER, SEED_BATCH_SIZE); i++) {
+            batch.add(TaskBatchOperationDto.builder()
+                    .type(TaskBatchOperationDto.Type.CREATE)
+                    .task(TaskDto.builder().title("Load task " + i).description("Seeded for load generation").build())
+                    .build());
+        }
+
+        List<Session> sessions = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            User user = userService.createUser("load-" + UUID.randomUUID().toString().substring(0, 8), PASSWORD);
+            Session session = new Session(user.getUsername(), jwtUtil.generateToken(user.getUsername(), user.getId()));
+            for (int created = 0; created < TASKS_PER_USER; created += SEED_BATCH_SIZE) {
+                List<TaskBatchOperationDto> chunk = batch.subList(0, Math.min(SEED_BATCH_SIZE, TASKS_PER_USER - created));
+                for (TaskBatchResultDto result : taskService.applyBatch(chunk, user.getId())) {
+                    session.add(result.getId().toString());
+                }
+            }
+            sessions.add(session);
+        }
+        return sessions;
+    }
+
+    List<EndpointStats> run(WorkloadMix mix) throws InterruptedException {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / RATE;
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(WARMUP_SECONDS);
+        long deadline = measureFrom + TimeUnit.SECONDS.toNanos(DURATION_SECONDS);
+
+        for (long due = start; due < deadline; due += intervalNanos) {
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Session session = sessions.get(ThreadLocalRandom.current().nextInt(sessions.size()));
+            issue(mix.next(), session, due, due >= measureFrom);
+        }
+
+        long drainUntil = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (inFlight.get() > 0 && System.nanoTime() < drainUntil) {
+            Thread.sleep(50);
+        }
+        return stats.values().stream().filter(result -> result.successes() + result.errors() > 0).toList();
+    }
+
+    private void issue(Operation operation, Session session, long due, boolean measured) {
+        String taskId = null;
+        if (operation.needsTask()) {
+            taskId = operation == Operation.DELETE ? session.take() : session.pick();
+            if (taskId == null) {
+                operation = Operation.CREATE;
+            }
+        }
+        EndpointStats target = stats.get(operation);
+
+        if (inFlight.incrementAndGet() > MAX_IN_FLIGHT) {
+            inFlight.decrementAndGet();
+            if (measured) {
+                target.recordError();
+            }
+            if (operation == Operation.DELETE) {
+                session.add(taskId);
+            }
+            return;
+        }
+
+        Operation issued = operation;
+        client.sendAsync(request(operation, session, taskId), HttpResponse.BodyHandlers.ofString())
+                .whenComplete((response, error) -> {
+                    inFlight.decrementAndGet();
+                    boolean ok = error == null && response.statusCode() / 100 == 2;
+                    if (ok && issued == Operation.CREATE) {
+                        session.add(createdId(response.body()));
+                    }
+                    if (!measured) {
+                        return;
+                    }
+                    if (ok) {
+                        target.recordSuccess(System.nanoTime() - due);
+                    } else {
+                        target.recordError();
+                    }
+                });
+    }
+
+    private HttpRequest request(Operation operation, Session session, String taskId) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder().timeout(Duration.ofSeconds(30));
+        if (operation != Operation.LOGIN) {
+            builder.header("Authorization", "Bearer " + session.token());
+        }
+        String tasks = baseUrl + "/api/tasks";
+        return switch (operation) {
+            case LOGIN -> json(builder.uri(URI.create(baseUrl + "/api/auth/login")), "POST",
+                    "{\"username\":\"" + session.username() + "\",\"password\":\"" + PASSWORD + "\"}");
+            case LIST -> builder.uri(URI.create(LIST_LIMIT > 0 ? tasks + "?limit=" + LIST_LIMIT : tasks)).GET().build();
+            case GET -> builder.uri(URI.create(tasks + "/" + taskId)).GET().build();
+            case CREATE -> json(builder.uri(URI.create(tasks)), "POST",
+                    "{\"title\":\"Load task\",\"description\":\"Created by the load generator\"}");
+            case UPDATE -> json(builder.uri(URI.create(tasks + "/" + taskId)), "PUT",
+                    "{\"title\":\"Load task\",\"description\":\"Updated by the load generator\",\"status\":\""
+                            + randomStatus() + "\"}");
+            case STATUS -> json(builder.uri(URI.create(tasks + "/" + taskId + "/status")), "PATCH",
+                    "{\"status\":\"" + randomStatus() + "\"}");
+            case DELETE -> builder.uri(URI.create(tasks + "/" + taskId)).DELETE().build();
+            case STATS -> builder.uri(URI.create(tasks + "/stats")).GET().build();
+        };
+    }
+
+    private static HttpRequest json(HttpRequest.Builder builder, String method, String body) {
+        return builder.header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static TaskStatus randomStatus() {
+        return STATUSES[ThreadLocalRandom.current().nextInt(STATUSES.length)];
+    }
+
+    private String createdId(String body) {
+        try {
+            JsonNode id = objectMapper.readTree(body).path("data").path("id");
+            return id.isMissingNode() ? null : id.asText();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * A seeded user with a token and the ids of the tasks it currently owns, as far as the
+     * generator knows. Deletes take their id out first so two deletes never race for one task.
+     */
+    static final class Session {
+
+        private final String username;
+        private final String token;
+        private final List<String> taskIds = new ArrayList<>();
+
+        Session(String username, String token) {
+            this.username = username;
+            this.token = token;
+        }
+
+        String username() {
+            return username;
+        }
+
+        String token() {
+            return token;
+        }
+
+        synchronized void add(String taskId) {
+            if (taskId != null) {
+                taskIds.add(taskId);
+            }
+        }
+
+        synchronized String pick() {
+            return taskIds.isEmpty() ? null : taskIds.get(ThreadLocalRandom.current().nextInt(taskIds.size()));
+        }
+
+        synchronized String take() {
+            if (taskIds.isEmpty()) {
+                return null;
+            }
+            int index = ThreadLocalRandom.current().nextInt(taskIds.size());
+            String last = taskIds.remove(taskIds.size() - 1);
+            return index == taskIds.size() ? last : taskIds.set(index, last);
+        }
+    }
+}
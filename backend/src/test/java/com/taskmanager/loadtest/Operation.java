@@ -0,0 +1,33 @@
+package com.taskmanager.loadtest;
+
+import java.util.Locale;
+
+/**
+ * Requests the load generator can issue. The key is the name used in the workload mix and SLOs.
+ */
+enum Operation {
+    LOGIN,
+    LIST,
+    GET,
+    CREATE,
+    UPDATE,
+    STATUS,
+    DELETE,
+    STATS;
+
+    String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Whether the operation needs an existing task; such operations fall back to {@link #CREATE}
+     * when the chosen user has none left.
+     */
+    boolean needsTask() {
+        return this == GET || this == UPDATE || this == STATUS || this == DELETE;
+    }
+
+    static Operation fromKey(String key) {
+        return valueOf(key.trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,85 @@
+package com.taskmanager.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Pass/fail limits parsed from e.g. {@code *.p99=500,list.p999=1000,create.errors=0.01}.
+ * Latency limits are in milliseconds, error limits are ratios; {@code *} applies to every operation
+ * that ran.
+ */
+final class SloThresholds {
+
+    private final List<Threshold> thresholds;
+
+    private SloThresholds(List<Threshold> thresholds) {
+        this.thresholds = thresholds;
+    }
+
+    static SloThresholds parse(String spec) {
+        List<Threshold> thresholds = new ArrayList<>();
+        if (spec == null || spec.isBlank()) {
+            return new SloThresholds(thresholds);
+        }
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.split("=");
+            String[] target = parts.length == 2 ? parts[0].trim().split("\\.") : new String[0];
+            if (target.length != 2) {
+                throw new IllegalArgumentException("Invalid SLO '" + entry + "', expected operation.metric=limit");
+            }
+            String metric = target[1].toLowerCase(Locale.ROOT);
+            if (!metric.equals("errors") && !metric.matches("p\\d+")) {
+                throw new IllegalArgumentException("Unknown SLO metric '" + metric + "', use pNN, pNNN or errors");
+            }
+            Operation operation = target[0].equals("*") ? null : Operation.fromKey(target[0]);
+            thresholds.add(new Threshold(operation, metric, Double.parseDouble(parts[1].trim())));
+        }
+        return new SloThresholds(thresholds);
+    }
+
+    /**
+     * @return one message per breached threshold, empty if all hold
+     */
+    List<String> breaches(List<EndpointStats> results) {
+        List<String> breaches = new ArrayList<>();
+        for (Threshold threshold : thresholds) {
+            for (EndpointStats stats : results) {
+                if (threshold.operation() != null && threshold.operation() != stats.operation()) {
+                    continue;
+                }
+                double actual = threshold.measure(stats);
+                if (actual > threshold.limit()) {
+                    breaches.add(String.format(Locale.ROOT, "%s.%s = %.3f exceeds %.3f",
+                            stats.operation().key(), threshold.metric(), actual, threshold.limit()));
+                }
+            }
+        }
+        return breaches;
+    }
+
+    @Override
+    public String toString() {
+        return thresholds.isEmpty() ? "none" : thresholds.toString();
+    }
+
+    private record Threshold(Operation operation, String metric, double limit) {
+
+        double measure(EndpointStats stats) {
+            if (metric.equals("errors")) {
+                return stats.errorRate();
+            }
+            // p99 -> 99, p999 -> 99.9, p9999 -> 99.99
+            String digits = metric.substring(1);
+            double percentile = digits.length() <= 2
+                    ? Double.parseDouble(digits)
+                    : Double.parseDouble(digits.substring(0, 2) + "." + digits.substring(2));
+            return stats.percentileMillis(percentile);
+        }
+
+        @Override
+        public String toString() {
+            return (operation == null ? "*" : operation.key()) + "." + metric + "=" + limit;
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.taskmanager.loadtest;
+
+import com.taskmanager.TaskManagerApplication;
+import com.taskmanager.dto.TaskBatchOperationDto;
+import com.taskmanager.dto.TaskDto;
+import com.taskmanager.entity.User;
+import com.taskmanager.security.JwtUtil;
+import com.taskmanager.service.TaskService;
+import com.taskmanager.service.UserService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-model load comparison of platform and virtual request threads. For each mode the
+ * application is started on a random port, users and tasks are seeded, and {@code connections}
+ * clients each issue {@code GET /api/tasks?limit=20} back to back for {@code duration} seconds.
+ * Throughput and latency percentiles are printed per mode.
+ *
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *   -Dexec.args="-cp %classpath -Dconnections=5000 -Dduration=60 com.taskmanager.loadtest.ThreadingLoadComparison"
+ * </pre>
+ *
+ * Virtual mode needs a Java 21+ JVM and is skipped otherwise. The H2 test profile is used unless
+ * {@code -Dspring.datasource.url=...} (plus driver and credentials) points at PostgreSQL, which is
+ * what makes request threads block on JDBC. Raise the open file limit ({@code ulimit -n}) above
+ * twice the connection count, as client and server share the process.
+ */
+public class ThreadingLoadComparison {
+
+    private static final int CONNECTIONS = Integer.getInteger("connections", 5000);
+    private static final int DURATION_SECONDS = Integer.getInteger("duration", 60);
+    private static final int WARMUP_SECONDS = Integer.getInteger("warmup", 10);
+    private static final int RAMP_MILLIS = Integer.getInteger("ramp", 5000);
+    private static final int USERS = Integer.getInteger("users", 20);
+    private static final int TASKS_PER_USER = Integer.getInteger("tasks", 200);
+    private static final List<String> MODES = Arrays.asList(System.getProperty("modes", "platform,virtual").split(","));
+
+    public static void main(String[] args) throws Exception {
+        List<Result> results = new ArrayList<>();
+        for (String mode : MODES) {
+            boolean virtual = mode.trim().equals("virtual");
+            if (virtual && Runtime.version().feature() < 21) {
+                System.out.println("Skipping virtual mode: requires Java 21+, running " + Runtime.version());
+                continue;
+            }
+            results.add(run(mode.trim(), virtual));
+        }
+
+        System.out.printf("%n%-9s %11s %9s %10s %9s %9s %9s %9s %9s%n",
+                "mode", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Result result : results) {
+            System.out.println(result);
+        }
+    }
+
+    private static Result run(String mode, boolean virtual) throws Exception {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(TaskManagerApplication.class)
+                .properties("server.port=0", "logging.level.com.taskmanager=WARN", "spring.main.banner-mode=off",
+                        "tasks.rate-limit.enabled=false");
+        if (virtual) {
+            builder.profiles("virtual-threads");
+        }
+
+        try (ConfigurableApplicationContext context = builder.run()) {
+            int port = Integer.parseInt(context.getEnvironment().getRequiredProperty("local.server.port"));
+            List<String> tokens = seed(context);
+            URI uri = URI.create("http://localhost:" + port + "/api/tasks?limit=20");
+            System.out.printf("%s: %d connections for %ds (+%ds warmup) against %s%n",
+                    mode, CONNECTIONS, DURATION_SECONDS, WARMUP_SECONDS, uri);
+            return drive(mode, uri, tokens);
+        }
+    }
+
+    private static List<String> seed(ConfigurableApplicationContext context) {
+        UserService userService = context.getBean(UserService.class);
+        TaskService taskService = context.getBean(TaskService.class);
+        JwtUtil jwtUtil = context.getBean(JwtUtil.class);
+
+        List<TaskBatchOperationDto> batch = new ArrayList<>(TASKS_PER_USER);
+        for (int i = 0; i < TASKS_PER_USER; i++) {
+            batch.add(TaskBatchOperationDto.builder()
+                    .type(TaskBatchOperationDto.Type.CREATE)
+                    .task(TaskDto.builder().title("Load task " + i).description("Seeded for load comparison").build())
+                    .build());
+        }
+
+        List<String> tokens = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            User user = userService.createUser("load-" + UUID.randomUUID().toString().substring(0, 8), "password123");
+            taskService.applyBatch(batch, user.getId());
+            tokens.add(jwtUtil.generateToken(user.getUsername(), user.getId()));
+        }
+        return tokens;
+    }
+
+    private static Result drive(String mode, URI uri, List<String> tokens) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(WARMUP_SECONDS);
+        long deadline = measureFrom + TimeUnit.SECONDS.toNanos(DURATION_SECONDS);
+        Recorder recorder = new Recorder(measureFrom);
+        CountDownLatch finished = new CountDownLatch(CONNECTIONS);
+
+        // Spread connection setup over the ramp so the accept backlog is not the first bottleneck
+        ScheduledExecutorService ramp = Executors.newSingleThreadScheduledExecutor();
+        for (int i = 0; i < CONNECTIONS; i++) {
+            HttpRequest request = HttpRequest.newBuilder(uri)
+                    .header("Authorization", "Bearer " + tokens.get(i % tokens.size()))
+                    .timeout(Duration.ofSeconds(60))
+                    .GET()
+                    .build();
+            long delay = (long) RAMP_MILLIS * i / CONNECTIONS;
+            ramp.schedule(() -> loop(client, request, deadline, recorder, finished), delay, TimeUnit.MILLISECONDS);
+        }
+        finished.await();
+        ramp.shutdown();
+        return recorder.result(mode, DURATION_SECONDS);
+    }
+
+    private static void loop(HttpClient client, HttpRequest request, long deadline,
+                             Recorder recorder, CountDownLatch finished) {
+        if (System.nanoTime() >= deadline) {
+            finished.countDown();
+            return;
+        }
+        long sent = System.nanoTime();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    recorder.record(sent, System.nanoTime(), error == null && response.statusCode() == 200);
+                    loop(client, request, deadline, recorder, finished);
+                });
+    }
+
+    private static final class Recorder {
+
+        private static final int MAX_SAMPLES = 20_000_000;
+
+        private final long measureFrom;
+        private final long[] latencies = new long[MAX_SAMPLES];
+        private final AtomicInteger count = new AtomicInteger();
+        private final AtomicLong errors = new AtomicLong();
+
+        Recorder(long measureFrom) {
+            this.measureFrom = measureFrom;
+        }
+
+        void record(long sent, long received, boolean ok) {
+            if (sent < measureFrom) {
+                return;
+            }
+            if (!ok) {
+                errors.incrementAndGet();
+                return;
+            }
+            int index = count.getAndIncrement();
+            if (index < MAX_SAMPLES) {
+                latencies[index] = received - sent;
+            }
+        }
+
+        Result result(String mode, int seconds) {
+            int samples = Math.min(count.get(), MAX_SAMPLES);
+            long[] sorted = Arrays.copyOf(latencies, samples);
+            Arrays.sort(sorted);
+            return new Result(mode, count.get(), errors.get(), (double) count.get() / seconds,
+                    percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                    percentile(sorted, 0.999), samples > 0 ? sorted[samples - 1] / 1e6 : 0);
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            return sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)] / 1e6;
+        }
+    }
+
+    private record Result(String mode, long requests, long errors, double throughput,
+                          double p50, double p90, double p99, double p999, double max) {
+
+        @Override
+        public String toString() {
+            return String.format("%-9s %11d %9d %10.0f %9.1f %9.1f %9.1f %9.1f %9.1f",
+                    mode, requests, errors, throughput, p50, p90, p99, p999, max);
+        }
+    }
+}
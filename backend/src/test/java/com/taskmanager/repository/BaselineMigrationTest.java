@@ -0,0 +1,112 @@
+package com.taskmanager.repository;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Migrates a database whose tables were created by the former {@code ddl-auto: update}, before
+ * Flyway, and checks that it ends up with the columns the application now maps. Runs on H2 here and
+ * on PostgreSQL in {@link PostgresBaselineMigrationTest}.
+ */
+class BaselineMigrationTest {
+
+    // The tables as Hibernate created them for the entities before migrations were introduced
+    private static final String BASELINE_USERS = """
+            CREATE TABLE users (
+                id         uuid         NOT NULL PRIMARY KEY,
+                created_at timestamp(6) NOT NULL,
+                password   varchar(255) NOT NULL,
+                username   varchar(50)  NOT NULL,
+                CONSTRAINT uk_users_username UNIQUE (username)
+            )
+            """;
+    private static final String BASELINE_TASKS = """
+            CREATE TABLE tasks (
+                id          uuid         NOT NULL PRIMARY KEY,
+                created_at  timestamp(6) NOT NULL,
+                description varchar(500),
+                status      varchar(255) NOT NULL CHECK (status IN ('TODO', 'IN_PROGRESS', 'COMPLETED')),
+                title       varchar(100) NOT NULL,
+                updated_at  timestamp(6),
+                user_id     uuid         NOT NULL,
+                CONSTRAINT fk_tasks_user FOREIGN KEY (user_id) REFERENCES users (id)
+            )
+            """;
+
+    protected DataSource dataSource;
+    protected JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = database();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute(BASELINE_USERS);
+        jdbcTemplate.execute(BASELINE_TASKS);
+    }
+
+    @Test
+    @DisplayName("A baseline database gets every column added since, with existing rows kept")
+    void migrate_AddsColumnsToBaselineTables() {
+        UUID userId = insertUser("Alice");
+        UUID taskId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO tasks (id, created_at, status, title, user_id) VALUES (?, ?, 'TODO', ?, ?)",
+                taskId, Timestamp.valueOf(LocalDateTime.now()), "Existing", userId);
+
+        migrate();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT tasks_version FROM users WHERE id = ?", Long.class, userId))
+                .isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT version + change_seq FROM tasks WHERE id = ?", Long.class,
+                taskId)).isZero();
+        assertThat(jdbcTemplate.update("UPDATE users SET tasks_version = tasks_version + 1 WHERE id = ?", userId))
+                .isOne();
+    }
+
+    @Test
+    @DisplayName("Usernames that differ only by case stop the migration")
+    void migrate_FailsOnCaseOnlyDuplicateUsernames() {
+        insertUser("Alice");
+        insertUser("alice");
+
+        assertThatThrownBy(this::migrate).isInstanceOf(FlywayException.class);
+    }
+
+    protected DataSource database() {
+        return new DriverManagerDataSource("jdbc:h2:mem:baseline-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+    }
+
+    protected String vendor() {
+        return "h2";
+    }
+
+    protected void migrate() {
+        // As configured in application.yml
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/" + vendor())
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load()
+                .migrate();
+    }
+
+    protected UUID insertUser(String username) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (id, created_at, password, username) VALUES (?, ?, ?, ?)",
+                id, Timestamp.valueOf(LocalDateTime.now()), "encoded", username);
+        return id;
+    }
+}
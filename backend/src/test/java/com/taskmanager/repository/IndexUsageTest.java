@@ -0,0 +1,325 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.entity.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Calls each repository method, captures the SQL it actually sends (Hibernate and the
+ * {@code JdbcTemplate} fragments alike) with its bound parameters, and checks the {@code EXPLAIN}
+ * of every statement: no table scan, and the named index in the plan. Runs on H2 here and on
+ * PostgreSQL in {@link PostgresIndexUsageTest}.
+ */
+@DataJpaTest
+@Import(IndexUsageTest.StatementCaptureConfig.class)
+class IndexUsageTest {
+
+    private static final UUID USER_ID = UUID.randomUUID();
+    private static final UUID TASK_ID = UUID.randomUUID();
+    private static final LocalDateTime NOW = LocalDateTime.now();
+    private static final Instant NOW_UTC = Instant.now();
+
+    @Autowired
+    private StatementCapture statementCapture;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskTombstoneRepository taskTombstoneRepository;
+
+    @Autowired
+    private TaskCounterRepository taskCounterRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private JdbcTemplate jdbcTemplate;
+    private boolean postgres;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(statementCapture);
+        postgres = "PostgreSQL".equals(jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName()));
+
+        List<Object[]> users = new ArrayList<>();
+        List<Object[]> tasks = new ArrayList<>();
+        for (int u = 0; u < 20; u++) {
+            UUID userId = u == 0 ? USER_ID : UUID.randomUUID();
+            users.add(new Object[]{userId, "explain-" + u, "encoded", Timestamp.valueOf(NOW)});
+            for (int t = 0; t < 50; t++) {
+                tasks.add(new Object[]{u == 0 && t == 0 ? TASK_ID : UUID.randomUUID(), "Task " + t,
+                        t % 3 == 0 ? "TODO" : "COMPLETED", Timestamp.valueOf(NOW.minusMinutes(t)), userId});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, username, password, created_at) VALUES (?, ?, ?, ?)", users);
+        jdbcTemplate.batchUpdate("INSERT INTO tasks (id, title, status, created_at, user_id) VALUES (?, ?, ?, ?, ?)",
+                tasks);
+
+        if (postgres) {
+            // The tables are far too small for an index to beat a scan on cost. With scans priced out the
+            // planner still falls back to one when no index can serve the predicate, which is what we check.
+            jdbcTemplate.execute("ANALYZE users, tasks");
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+        }
+    }
+
+    static Stream<Arguments> repositoryQueries() {
+        return Stream.of(
+                // TaskRepository
+                query("findDtosByUserId", r -> r.taskRepository.findDtosByUserId(USER_ID),
+                        "idx_tasks_user_created_id"),
+                query("streamDtosByUserId", r -> {
+                    try (Stream<?> tasks = r.taskRepository.streamDtosByUserId(USER_ID)) {
+                        tasks.count();
+                    }
+                }, "idx_tasks_user_created_id"),
+                query("findFirstPageByUserId",
+                        r -> r.taskRepository.findFirstPageByUserId(USER_ID, PageRequest.of(0, 20)),
+                        "idx_tasks_user_created_id"),
+                // The created_at bound must be part of the index seek, not a filter over all the user's rows
+                seek("findPageByUserIdAfter",
+                        r -> r.taskRepository.findPageByUserIdAfter(USER_ID, NOW, TASK_ID, PageRequest.of(0, 20)),
+                        "created_at <=", "idx_tasks_user_created_id"),
+                query("existsByIdAndUserId", r -> r.taskRepository.existsByIdAndUserId(TASK_ID, USER_ID),
+                        "tasks_pkey"),
+                query("findLockedByIdInAndUserId",
+                        r -> r.taskRepository.findLockedByIdInAndUserId(List.of(TASK_ID, UUID.randomUUID()), USER_ID),
+                        "tasks_pkey"),
+                query("recordChange", r -> r.taskRepository.recordChange(TASK_ID, 1), "tasks_pkey"),
+                // Either index seeks on user_id; which one wins is a costing detail
+                query("countByUserIdGroupByStatus", r -> r.taskRepository.countByUserIdGroupByStatus(USER_ID),
+                        "idx_tasks_user_status", "idx_tasks_user_created_id"),
+                query("search", r -> r.taskRepository.search(USER_ID, "task", null, null, 20),
+                        "idx_tasks_search_vector", "idx_tasks_user_created_id", "idx_tasks_user_status"),
+                seek("findDtosChangedSince", r -> r.taskRepository.findDtosChangedSince(USER_ID, 10),
+                        "change_seq >", "idx_tasks_user_change_seq"),
+                // TaskTombstoneRepository
+                seek("findTaskIdsDeletedSince", r -> r.taskTombstoneRepository.findTaskIdsDeletedSince(USER_ID, 10),
+                        "change_seq >", "idx_task_tombstones_user_change_seq"),
+                query("TaskTombstoneRepository.deleteOlderThan",
+                        r -> r.taskTombstoneRepository.deleteOlderThan(NOW), "idx_task_tombstones_deleted_at"),
+                // TaskCounterRepository
+                query("findByUserId", r -> r.taskCounterRepository.findByUserId(USER_ID), "task_counters_pkey"),
+                query("lockByUserId", r -> r.taskCounterRepository.lockByUserId(USER_ID), "task_counters_pkey"),
+                query("adjust", r -> r.taskCounterRepository.adjust(USER_ID, TaskStatus.TODO, 1),
+                        "task_counters_pkey"),
+                // UserRepository
+                query("findByUsername (natural id)", r -> r.userRepository.findByUsername("explain-0"),
+                        "idx_users_username"),
+                query("findTasksVersionById", r -> r.userRepository.findTasksVersionById(USER_ID), "users_pkey"),
+                query("incrementTasksVersion", r -> r.userRepository.incrementTasksVersion(USER_ID), "users_pkey"),
+                query("lockForTaskChanges", r -> r.userRepository.lockForTaskChanges(USER_ID), "users_pkey"),
+                // RefreshTokenRepository
+                query("findByTokenHash", r -> r.refreshTokenRepository.findByTokenHash("hash"),
+                        "ux_refresh_tokens_token_hash"),
+                query("markRotated", r -> r.refreshTokenRepository.markRotated(UUID.randomUUID(), NOW_UTC),
+                        "refresh_tokens_pkey"),
+                query("findActiveAccessTokenIds",
+                        r -> r.refreshTokenRepository.findActiveAccessTokenIds(UUID.randomUUID(), NOW_UTC),
+                        "idx_refresh_tokens_family"),
+                query("revokeFamily", r -> r.refreshTokenRepository.revokeFamily(UUID.randomUUID()),
+                        "idx_refresh_tokens_family"),
+                query("RefreshTokenRepository.deleteExpired", r -> r.refreshTokenRepository.deleteExpired(NOW_UTC),
+                        "idx_refresh_tokens_expires_at"),
+                // RevokedTokenRepository
+                query("findRevokedSince", r -> r.revokedTokenRepository.findRevokedSince(NOW_UTC, NOW_UTC),
+                        "idx_revoked_tokens_revoked_at", "idx_revoked_tokens_expires_at"),
+                query("RevokedTokenRepository.deleteExpired", r -> r.revokedTokenRepository.deleteExpired(NOW_UTC),
+                        "idx_revoked_tokens_expires_at"));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositoryQueries")
+    @DisplayName("Repository queries are served by an index")
+    void repositoryQuery_UsesIndex(String method, RepositoryCall call, String seek, List<String> indexes) {
+        List<CapturedStatement> statements = statementCapture.capture(() -> call.run(this));
+        assertThat(statements).as(method).isNotEmpty();
+
+        String plans = statements.stream().map(this::explain).collect(Collectors.joining("\n"))
+                .toLowerCase(Locale.ROOT);
+
+        assertThat(plans).as(method).doesNotContain("tablescan", "seq scan")
+                .containsAnyOf(indexes.stream().map(this::indexName).toArray(String[]::new));
+        if (seek != null) {
+            assertThat(plans).as(method).contains(seek);
+        }
+    }
+
+    private String explain(CapturedStatement statement) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement explain = connection.prepareStatement("EXPLAIN " + statement.sql());
+            for (Binding binding : statement.bindings().values()) {
+                binding.applyTo(explain);
+            }
+            return explain;
+        }, result -> {
+            StringBuilder plan = new StringBuilder();
+            while (result.next()) {
+                plan.append(result.getString(1)).append('\n');
+            }
+            return plan.toString();
+        });
+    }
+
+    // H2 names every primary key index PRIMARY_KEY_<n>
+    private String indexName(String index) {
+        return !postgres && index.endsWith("_pkey") ? "primary_key" : index;
+    }
+
+    private static Arguments query(String method, RepositoryCall call, String... indexes) {
+        return Arguments.of(method, call, null, List.of(indexes));
+    }
+
+    private static Arguments seek(String method, RepositoryCall call, String seekCondition, String... indexes) {
+        return Arguments.of(method, call, seekCondition, List.of(indexes));
+    }
+
+    @FunctionalInterface
+    interface RepositoryCall {
+        void run(IndexUsageTest repositories);
+    }
+
+    record CapturedStatement(String sql, Map<Integer, Binding> bindings) {
+    }
+
+    record Binding(Method setter, Object[] args) {
+
+        void applyTo(PreparedStatement statement) throws SQLException {
+            try {
+                setter.invoke(statement, args);
+            } catch (ReflectiveOperationException e) {
+                throw new SQLException("Could not replay " + setter.getName(), e);
+            }
+        }
+    }
+
+    @TestConfiguration
+    static class StatementCaptureConfig {
+
+        @Bean
+        static BeanPostProcessor statementCapturePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource && !(bean instanceof StatementCapture)
+                            ? new StatementCapture(dataSource)
+                            : bean;
+                }
+            };
+        }
+    }
+
+    /**
+     * Records the statements prepared while a capture runs, with the last value bound to each
+     * parameter, so they can be explained exactly as they were sent.
+     */
+    static final class StatementCapture extends DelegatingDataSource {
+
+        private volatile List<CapturedStatement> captured;
+
+        StatementCapture(DataSource target) {
+            super(target);
+        }
+
+        List<CapturedStatement> capture(Runnable call) {
+            List<CapturedStatement> statements = new ArrayList<>();
+            captured = statements;
+            try {
+                call.run();
+            } finally {
+                captured = null;
+            }
+            return statements;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return capturing(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return capturing(super.getConnection(username, password));
+        }
+
+        private Connection capturing(Connection connection) {
+            return proxy(Connection.class, connection, (method, args) -> {
+                Object result = invoke(connection, method, args);
+                List<CapturedStatement> statements = captured;
+                if (statements == null || !method.getName().equals("prepareStatement")) {
+                    return result;
+                }
+                CapturedStatement statement = new CapturedStatement((String) args[0], new LinkedHashMap<>());
+                statements.add(statement);
+                PreparedStatement prepared = (PreparedStatement) result;
+                return proxy(PreparedStatement.class, prepared, (setter, values) -> {
+                    if (setter.getName().startsWith("set") && values != null && values.length >= 2
+                            && values[0] instanceof Integer index) {
+                        statement.bindings().put(index, new Binding(setter, values));
+                    }
+                    return invoke(prepared, setter, values);
+                });
+            });
+        }
+
+        private static <T> T proxy(Class<T> type, T target, Handler handler) {
+            return type.cast(Proxy.newProxyInstance(StatementCapture.class.getClassLoader(), new Class<?>[]{type},
+                    (proxy, method, args) -> handler.handle(method, args)));
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+
+        @FunctionalInterface
+        private interface Handler {
+            Object handle(Method method, Object[] args) throws Throwable;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.taskmanager.repository;
+
+import org.flywaydb.core.api.FlywayException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * {@link BaselineMigrationTest} against the PostgreSQL migrations. Skipped where Docker is not
+ * available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class PostgresBaselineMigrationTest extends BaselineMigrationTest {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Test
+    @DisplayName("The migration names the usernames that differ only by case")
+    void migrate_NamesCaseOnlyDuplicateUsernames() {
+        insertUser("Alice");
+        insertUser("alice");
+
+        assertThatThrownBy(this::migrate).isInstanceOf(FlywayException.class)
+                .hasMessageContaining("Alice").hasMessageContaining("alice");
+    }
+
+    @Override
+    protected DataSource database() {
+        DataSource dataSource = new DriverManagerDataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(),
+                POSTGRES.getPassword());
+        // One database for all tests; start each from an empty schema
+        new JdbcTemplate(dataSource).execute("DROP SCHEMA public CASCADE; CREATE SCHEMA public");
+        return dataSource;
+    }
+
+    @Override
+    protected String vendor() {
+        return "postgresql";
+    }
+}
@@ -0,0 +1,79 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.entity.Task;
+import com.taskmanager.entity.TaskStatus;
+import com.taskmanager.entity.User;
+import com.taskmanager.repository.TaskSearchRepository.RankedTask;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class TaskSearchRepositoryTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.save(User.builder().username("searcher").password("encoded").build());
+        User other = userRepository.save(User.builder().username("other").password("encoded").build());
+        userId = user.getId();
+
+        taskRepository.saveAll(List.of(
+                task(user, "Write report", "Quarterly numbers"),
+                task(user, "Review", "Read the report draft"),
+                task(user, "Groceries", "Milk and eggs"),
+                task(user, "100% done_items", null),
+                task(other, "Report for someone else", null)));
+        taskRepository.flush();
+    }
+
+    @Test
+    @DisplayName("Should rank title matches above description matches and scope to the user")
+    void search_RanksTitleMatchesFirst() {
+        List<RankedTask> hits = taskRepository.search(userId, "Report", null, null, 10);
+
+        assertThat(hits).extracting(hit -> hit.task().getTitle())
+                .containsExactly("Write report", "Review");
+        assertThat(hits.get(0).rank()).isGreaterThan(hits.get(1).rank());
+    }
+
+    @Test
+    @DisplayName("Should continue after the keyset position")
+    void search_SeeksAfterCursor() {
+        RankedTask first = taskRepository.search(userId, "report", null, null, 1).get(0);
+
+        List<RankedTask> next = taskRepository.search(userId, "report", first.rank(), first.task().getId(), 10);
+
+        assertThat(next).extracting(hit -> hit.task().getTitle()).containsExactly("Review");
+    }
+
+    @Test
+    @DisplayName("Should treat LIKE wildcards in the query literally")
+    void search_EscapesWildcards() {
+        assertThat(taskRepository.search(userId, "0% done_", null, null, 10)).hasSize(1);
+        assertThat(taskRepository.search(userId, "_", null, null, 10)).hasSize(1);
+    }
+
+    private Task task(User user, String title, String description) {
+        return Task.builder()
+                .title(title)
+                .description(description)
+                .status(TaskStatus.TODO)
+                .user(user)
+                .build();
+    }
+}
@@ -0,0 +1,123 @@
+package com.taskmanager.security;
+
+import com.taskmanager.exception.CustomExceptions.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+class PasswordHasherTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private GatedEncoder encoder;
+    private PasswordHasher hasher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        encoder = new GatedEncoder();
+        hasher = new PasswordHasher(encoder, 1, 1, 2, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        encoder.release.countDown();
+        hasher.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should hash on the pool and record hash time")
+    void encode_RecordsHashTime() {
+        encoder.release.countDown();
+
+        assertThat(hasher.encode("secret")).isEqualTo("hashed:secret");
+        assertThat(meterRegistry.get("auth.hash").tag("operation", "encode").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should share one check between concurrent logins with the same credentials")
+    void matches_SharesInFlightCheck() {
+        CompletableFuture<Boolean> first = CompletableFuture.supplyAsync(
+                () -> hasher.matches("alice", "secret", "hashed:secret"));
+        await().atMost(5, TimeUnit.SECONDS).until(() -> encoder.calls.get() == 1);
+        CompletableFuture<Boolean> second = CompletableFuture.supplyAsync(
+                () -> hasher.matches("alice", "secret", "hashed:secret"));
+        await().atMost(5, TimeUnit.SECONDS)
+                .until(() -> meterRegistry.get("auth.hash.shared").counter().count() == 1);
+
+        encoder.release.countDown();
+
+        assertThat(first.join()).isTrue();
+        assertThat(second.join()).isTrue();
+        assertThat(encoder.calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not share a check between different passwords")
+    void matches_DoesNotShareAcrossPasswords() {
+        encoder.release.countDown();
+
+        assertThat(hasher.matches("alice", "secret", "hashed:secret")).isTrue();
+        assertThat(hasher.matches("alice", "wrong", "hashed:secret")).isFalse();
+        assertThat(encoder.calls.get()).isEqualTo(2);
+        assertThat(meterRegistry.get("auth.hash.shared").counter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should refuse hashing with a retry hint once the queue is full")
+    void encode_RejectsWhenQueueFull() {
+        CompletableFuture.runAsync(() -> hasher.encode("running"));
+        await().atMost(5, TimeUnit.SECONDS).until(() -> encoder.calls.get() == 1);
+        CompletableFuture.runAsync(() -> hasher.encode("queued"));
+        await().atMost(5, TimeUnit.SECONDS)
+                .until(() -> meterRegistry.get("auth.hash.queue.depth").gauge().value() == 1);
+
+        assertThatThrownBy(() -> hasher.encode("refused"))
+                .isInstanceOf(TooManyRequestsException.class)
+                .extracting(e -> ((TooManyRequestsException) e).getRetryAfterSeconds())
+                .isEqualTo(2L);
+        assertThat(meterRegistry.get("auth.hash.rejected").counter().count()).isEqualTo(1);
+    }
+
+    /**
+     * Stand-in for BCrypt that blocks every hash until released and counts how many ran.
+     */
+    private static class GatedEncoder implements PasswordEncoder {
+
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            calls.incrementAndGet();
+            awaitRelease();
+            return "hashed:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            calls.incrementAndGet();
+            awaitRelease();
+            return encodedPassword.equals("hashed:" + rawPassword);
+        }
+
+        private void awaitRelease() {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.taskmanager.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RateLimitFilter(true, 1000, 600_000, 0.01, 2, 0.01, 3, 0.01, 1,
+                new ObjectMapper(), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should limit auth endpoints per client address with 429 and retry headers")
+    void authRequests_LimitedPerAddress() throws Exception {
+        assertThat(send("POST", "/api/auth/login", "10.0.0.1").getStatus()).isEqualTo(200);
+        assertThat(send("POST", "/api/auth/login", "10.0.0.1").getStatus()).isEqualTo(200);
+
+        MockHttpServletResponse rejected = send("POST", "/api/auth/login", "10.0.0.1");
+
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(Long.parseLong(rejected.getHeader("Retry-After"))).isPositive();
+        assertThat(rejected.getHeader("RateLimit-Limit")).isEqualTo("2");
+        assertThat(rejected.getHeader("RateLimit-Remaining")).isEqualTo("0");
+        assertThat(rejected.getContentAsString()).contains("TOO_MANY_REQUESTS");
+        assertThat(send("POST", "/api/auth/login", "10.0.0.2").getStatus()).isEqualTo(200);
+        assertThat(meterRegistry.get("rate.limit.rejections").tag("route", "auth").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep separate read and write buckets per user")
+    void userRequests_LimitedPerUserAndRouteClass() throws Exception {
+        authenticate(UUID.randomUUID());
+        assertThat(send("POST", "/api/tasks", "10.0.0.1").getStatus()).isEqualTo(200);
+        assertThat(send("POST", "/api/tasks", "10.0.0.1").getStatus()).isEqualTo(429);
+        assertThat(send("GET", "/api/tasks", "10.0.0.1").getStatus()).isEqualTo(200);
+
+        authenticate(UUID.randomUUID());
+        assertThat(send("POST", "/api/tasks", "10.0.0.1").getStatus()).isEqualTo(200);
+        assertThat(meterRegistry.get("rate.limit.buckets").tag("route", "write").gauge().value())
+                .isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should pass unauthenticated requests through to be rejected by security")
+    void unauthenticatedRequests_PassThrough() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertThat(send("GET", "/api/tasks", "10.0.0.1").getStatus()).isEqualTo(200);
+        }
+    }
+
+    @Test
+    @DisplayName("Should not limit anything when disabled")
+    void disabled_PassesEverything() throws Exception {
+        filter = new RateLimitFilter(false, 1000, 600_000, 0.01, 1, 0.01, 1, 0.01, 1,
+                new ObjectMapper(), meterRegistry);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(send("POST", "/api/auth/login", "10.0.0.1").getStatus()).isEqualTo(200);
+        }
+    }
+
+    private void authenticate(UUID userId) {
+        UserPrincipal principal = new UserPrincipal(userId, "user-" + userId);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+    }
+
+    private MockHttpServletResponse send(String method, String uri, String remoteAddr) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr(remoteAddr);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,46 @@
+package com.taskmanager.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Requests from the test client arrive from 127.0.0.1, a trusted proxy address, so the auth limit
+ * must be keyed by the client address in {@code X-Forwarded-For} rather than by the proxy.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "server.forward-headers-strategy=native",
+        "tasks.rate-limit.auth.per-second=0.01",
+        "tasks.rate-limit.auth.burst=2"})
+class RateLimitForwardedHeadersTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    @DisplayName("Auth requests forwarded for different clients get separate buckets")
+    void authLimit_KeyedByForwardedClient() {
+        assertThat(login("203.0.113.10")).isNotEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(login("203.0.113.10")).isNotEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(login("203.0.113.10")).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+
+        assertThat(login("203.0.113.20")).isNotEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    private HttpStatus login(String clientAddress) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("X-Forwarded-For", clientAddress);
+        HttpEntity<String> request = new HttpEntity<>("{\"username\":\"nobody\",\"password\":\"password123\"}", headers);
+        return HttpStatus.valueOf(restTemplate.postForEntity("/api/auth/login", request, String.class)
+                .getStatusCode().value());
+    }
+}
@@ -0,0 +1,100 @@
+package com.taskmanager.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTest {
+
+    private AtomicLong time;
+    private RateLimiter<String> limiter;
+
+    @BeforeEach
+    void setUp() {
+        time = new AtomicLong();
+        limiter = new RateLimiter<>(10, 5, 4, Duration.ofMinutes(1), time::get);
+    }
+
+    @Test
+    @DisplayName("Should allow the burst and then report the wait for the next permit")
+    void tryAcquire_RejectsAfterBurst() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("alice")).isZero();
+        }
+
+        assertThat(limiter.tryAcquire("alice")).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(limiter.tryAcquire("bob")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should refill at the configured rate")
+    void tryAcquire_RefillsOverTime() {
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("alice");
+        }
+
+        time.addAndGet(TimeUnit.MILLISECONDS.toNanos(250));
+
+        assertThat(limiter.tryAcquire("alice")).isZero();
+        assertThat(limiter.tryAcquire("alice")).isZero();
+        assertThat(limiter.tryAcquire("alice")).isEqualTo(TimeUnit.MILLISECONDS.toNanos(50));
+    }
+
+    @Test
+    @DisplayName("Should bound the number of buckets and drop idle ones")
+    void buckets_AreBoundedAndExpire() {
+        for (int i = 0; i < 20; i++) {
+            limiter.tryAcquire("client-" + i);
+        }
+        limiter.cleanUp();
+        assertThat(limiter.estimatedSize()).isLessThanOrEqualTo(4);
+
+        time.addAndGet(TimeUnit.MINUTES.toNanos(2));
+        limiter.cleanUp();
+        assertThat(limiter.estimatedSize()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should hand out exactly the burst under concurrent callers")
+    void tryAcquire_IsExactUnderContention() throws Exception {
+        RateLimiter<String> slow = new RateLimiter<>(0.001, 50, 10, Duration.ofMinutes(1));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    int granted = 0;
+                    for (int i = 0; i < 100; i++) {
+                        if (slow.tryAcquire("shared") == 0) {
+                            granted++;
+                        }
+                    }
+                    return granted;
+                }));
+            }
+            start.countDown();
+
+            int granted = 0;
+            for (Future<Integer> result : results) {
+                granted += result.get(10, TimeUnit.SECONDS);
+            }
+            assertThat(granted).isEqualTo(50);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
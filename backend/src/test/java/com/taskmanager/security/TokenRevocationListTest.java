@@ -0,0 +1,94 @@
+package com.taskmanager.security;
+
+import com.taskmanager.entity.RevokedToken;
+import com.taskmanager.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationListTest {
+
+    @Mock
+    private RevokedTokenRepository repository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TokenRevocationList revocationList;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        revocationList = new TokenRevocationList(repository, 8, 30_000, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should persist a revocation and apply it locally at once")
+    void revoke_AppliesImmediately() {
+        UUID tokenId = UUID.randomUUID();
+
+        revocationList.revoke(tokenId, Instant.now().plusSeconds(60));
+
+        assertThat(revocationList.isRevoked(tokenId)).isTrue();
+        assertThat(revocationList.isRevoked(UUID.randomUUID())).isFalse();
+        verify(repository).save(any(RevokedToken.class));
+    }
+
+    @Test
+    @DisplayName("Should pick up revocations written by other nodes")
+    void sync_LoadsRevokedTokens() {
+        UUID tokenId = UUID.randomUUID();
+        when(repository.findRevokedSince(any(), any())).thenReturn(List.of(
+                new RevokedToken(tokenId, Instant.now().plusSeconds(60), Instant.now())));
+
+        revocationList.sync();
+
+        assertThat(revocationList.isRevoked(tokenId)).isTrue();
+        assertThat(meterRegistry.get("jwt.revocation.size").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should stay exact after growing past the expected number of entries")
+    void revoke_GrowsFilterBeyondExpectedEntries() {
+        List<UUID> tokenIds = Stream.generate(UUID::randomUUID).limit(100).toList();
+
+        tokenIds.forEach(tokenId -> revocationList.revoke(tokenId, Instant.now().plusSeconds(60)));
+
+        assertThat(tokenIds).allMatch(revocationList::isRevoked);
+        assertThat(revocationList.isRevoked(UUID.randomUUID())).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should forget revocations once the tokens have expired")
+    void purgeExpired_DropsExpiredEntries() {
+        UUID expired = UUID.randomUUID();
+        UUID live = UUID.randomUUID();
+        revocationList.revoke(expired, Instant.now().minusSeconds(1));
+        revocationList.revoke(live, Instant.now().plusSeconds(60));
+
+        revocationList.purgeExpired();
+
+        assertThat(revocationList.isRevoked(expired)).isFalse();
+        assertThat(revocationList.isRevoked(live)).isTrue();
+        assertThat(revocationList.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should treat tokens without an ID as not revoked")
+    void isRevoked_NullTokenId() {
+        assertThat(revocationList.isRevoked(null)).isFalse();
+    }
+}
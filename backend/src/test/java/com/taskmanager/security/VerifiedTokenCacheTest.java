@@ -0,0 +1,64 @@
+package com.taskmanager.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VerifiedTokenCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private VerifiedTokenCache cache;
+    private UserPrincipal principal;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new VerifiedTokenCache(4, meterRegistry);
+        principal = new UserPrincipal(UUID.randomUUID(), "testuser");
+    }
+
+    @Test
+    @DisplayName("Should return cached principal and record hit and miss")
+    void get_ReturnsCachedPrincipal() {
+        String key = cache.keyFor("token");
+
+        assertThat(cache.get(key)).isNull();
+        cache.put(key, principal, System.currentTimeMillis() + 60_000);
+
+        assertThat(cache.get(key)).isEqualTo(principal);
+        assertThat(meterRegistry.get("jwt.cache.requests").tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("jwt.cache.requests").tag("result", "miss").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not return principals for expired tokens")
+    void get_IgnoresExpiredEntries() {
+        String key = cache.keyFor("token");
+        cache.put(key, principal, System.currentTimeMillis() - 1);
+
+        assertThat(cache.get(key)).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should stay within the configured size bound")
+    void put_EvictsWhenFull() {
+        for (int i = 0; i < 20; i++) {
+            cache.put(cache.keyFor("token-" + i), principal, System.currentTimeMillis() + 60_000);
+        }
+
+        assertThat(cache.size()).isLessThanOrEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should key entries by digest rather than the raw token")
+    void keyFor_DoesNotExposeToken() {
+        assertThat(cache.keyFor("secret-token")).doesNotContain("secret-token")
+                .isEqualTo(cache.keyFor("secret-token"));
+    }
+}
@@ -4,7 +4,6 @@ import com.taskmanager.dto.AuthRequestDto;
 import com.taskmanager.dto.AuthResponseDto;
 import com.taskmanager.entity.User;
 import com.taskmanager.exception.CustomExceptions.InvalidCredentialsException;
-import com.taskmanager.security.JwtUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -17,8 +16,10 @@ import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,13 +29,14 @@ class AuthServiceTest {
     private UserService userService;
 
     @Mock
-    private JwtUtil jwtUtil;
+    private RefreshTokenService refreshTokenService;
 
     @InjectMocks
     private AuthService authService;
 
     private User user;
     private AuthRequestDto authRequest;
+    private AuthResponseDto tokens;
 
     @BeforeEach
     void setUp() {
@@ -45,17 +47,24 @@ class AuthServiceTest {
                 .build();
 
         authRequest = new AuthRequestDto("testuser", "password123");
+        tokens = AuthResponseDto.builder()
+                .token("jwt_token")
+                .refreshToken("refresh_token")
+                .expiresIn(900L)
+                .username("testuser")
+                .build();
     }
 
     @Test
     @DisplayName("Should register a new user successfully")
     void register_ReturnsTokenAndUsername() {
         when(userService.createUser(anyString(), anyString())).thenReturn(user);
-        when(jwtUtil.generateToken(eq("testuser"), eq(user.getId()))).thenReturn("jwt_token");
+        when(refreshTokenService.issue(user.getId(), "testuser")).thenReturn(tokens);
 
         AuthResponseDto result = authService.register(authRequest);
 
         assertThat(result.getToken()).isEqualTo("jwt_token");
+        assertThat(result.getRefreshToken()).isEqualTo("refresh_token");
         assertThat(result.getUsername()).isEqualTo("testuser");
     }
 
@@ -64,11 +73,12 @@ class AuthServiceTest {
     void login_ReturnsTokenWhenCredentialsValid() {
         when(userService.findByUsername("testuser")).thenReturn(user);
         when(userService.checkPassword(user, "password123")).thenReturn(true);
-        when(jwtUtil.generateToken(eq("testuser"), eq(user.getId()))).thenReturn("jwt_token");
+        when(refreshTokenService.issue(user.getId(), "testuser")).thenReturn(tokens);
 
         AuthResponseDto result = authService.login(authRequest);
 
         assertThat(result.getToken()).isEqualTo("jwt_token");
+        assertThat(result.getRefreshToken()).isEqualTo("refresh_token");
         assertThat(result.getUsername()).isEqualTo("testuser");
     }
 
@@ -80,5 +90,17 @@ class AuthServiceTest {
 
         assertThatThrownBy(() -> authService.login(authRequest))
                 .isInstanceOf(InvalidCredentialsException.class);
+        verify(refreshTokenService, never()).issue(user.getId(), "testuser");
+    }
+
+    @Test
+    @DisplayName("Should refresh tokens without checking a password")
+    void refresh_DoesNotCheckPassword() {
+        when(refreshTokenService.refresh("refresh_token")).thenReturn(tokens);
+
+        AuthResponseDto result = authService.refresh("refresh_token");
+
+        assertThat(result.getToken()).isEqualTo("jwt_token");
+        verify(userService, never()).checkPassword(any(), anyString());
     }
 }
@@ -0,0 +1,84 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.AuthRequestDto;
+import com.taskmanager.dto.AuthResponseDto;
+import com.taskmanager.exception.CustomExceptions.UnauthorizedException;
+import com.taskmanager.security.JwtUtil;
+import com.taskmanager.security.TokenRevocationList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class RefreshTokenFlowTest {
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private TokenRevocationList revocationList;
+
+    private AuthResponseDto session;
+
+    @BeforeEach
+    void setUp() {
+        String username = "refresh-" + UUID.randomUUID().toString().substring(0, 8);
+        session = authService.register(new AuthRequestDto(username, "password123"));
+    }
+
+    @Test
+    @DisplayName("A refresh rotates both tokens")
+    void refresh_RotatesTokens() {
+        AuthResponseDto refreshed = authService.refresh(session.getRefreshToken());
+
+        assertThat(refreshed.getRefreshToken()).isNotEqualTo(session.getRefreshToken());
+        assertThat(refreshed.getToken()).isNotEqualTo(session.getToken());
+        assertThat(refreshed.getUsername()).isEqualTo(session.getUsername());
+        assertThat(tokenId(refreshed)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Reusing a rotated refresh token revokes the whole family")
+    void refresh_ReuseRevokesFamily() {
+        AuthResponseDto refreshed = authService.refresh(session.getRefreshToken());
+
+        assertThatThrownBy(() -> authService.refresh(session.getRefreshToken()))
+                .isInstanceOf(UnauthorizedException.class);
+
+        assertThatThrownBy(() -> authService.refresh(refreshed.getRefreshToken()))
+                .isInstanceOf(UnauthorizedException.class);
+        assertThat(revocationList.isRevoked(tokenId(refreshed))).isTrue();
+        assertThat(revocationList.isRevoked(tokenId(session))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Logout revokes the access token and the refresh token")
+    void logout_RevokesTokens() {
+        authService.logout(session.getRefreshToken(), tokenId(session));
+
+        assertThat(revocationList.isRevoked(tokenId(session))).isTrue();
+        assertThatThrownBy(() -> authService.refresh(session.getRefreshToken()))
+                .isInstanceOf(UnauthorizedException.class);
+    }
+
+    @Test
+    @DisplayName("Unknown refresh tokens are rejected")
+    void refresh_RejectsUnknownToken() {
+        assertThatThrownBy(() -> authService.refresh("not-a-refresh-token"))
+                .isInstanceOf(UnauthorizedException.class);
+    }
+
+    private UUID tokenId(AuthResponseDto response) {
+        return jwtUtil.toPrincipal(jwtUtil.parseToken(response.getToken())).getTokenId();
+    }
+}
@@ -0,0 +1,124 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.TaskChangesDto;
+import com.taskmanager.dto.TaskDto;
+import com.taskmanager.service.TaskVersionService.Versioned;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * A second in-memory database stands in for a replica that is only brought up to date by
+ * {@link #replicate()}, so every write after that is missing on it.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "tasks.datasource.replicas=" + ReplicaLagTest.REPLICA_URL,
+        "tasks.datasource.health-interval-ms=100"})
+class ReplicaLagTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:lagging-replica;DB_CLOSE_DELAY=-1";
+
+    private static final DataSource REPLICA = new DriverManagerDataSource(REPLICA_URL, "sa", "");
+
+    static {
+        // The schema is in place before the application starts reading from the replica
+        Flyway.configure().dataSource(REPLICA).locations("classpath:db/migration/h2").load().migrate();
+    }
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TaskVersionService taskVersionService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = userService.createUser("lag-" + UUID.randomUUID().toString().substring(0, 8), "password123").getId();
+        await().atMost(5, TimeUnit.SECONDS)
+                .until(() -> meterRegistry.get("db.replica.healthy").gauge().value() == 1);
+    }
+
+    @Test
+    @DisplayName("Delta sync does not move the token past changes the replica has not applied")
+    void getChanges_ReturnsChangesMissingOnReplica() throws IOException {
+        create("Replicated");
+        String token = taskService.getChanges(userId, null).getToken();
+        replicate();
+        UUID missing = create("Not replicated yet");
+
+        assertThat(taskService.getAllTasks(userId)).extracting(TaskDto::getId).doesNotContain(missing);
+
+        TaskChangesDto changes = taskService.getChanges(userId, token);
+        assertThat(changes.getChanged()).extracting(TaskDto::getId).containsExactly(missing);
+        assertThat(taskService.getChanges(userId, changes.getToken()).getChanged()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("A body read from a lagging replica is tagged with the replica's version")
+    void readVersioned_TagsWithVersionOfServingDatabase() throws IOException {
+        create("Replicated");
+        replicate();
+        UUID missing = create("Not replicated yet");
+
+        Versioned<List<TaskDto>> tasks = taskVersionService.readVersioned(userId,
+                () -> taskService.getAllTasks(userId));
+
+        assertThat(tasks.body()).extracting(TaskDto::getId).doesNotContain(missing);
+        assertThat(tasks.version())
+                .isEqualTo(tasksVersion(REPLICA))
+                .isLessThan(tasksVersion(dataSource));
+    }
+
+    /**
+     * Brings the replica up to date with the primary, as of now.
+     */
+    private void replicate() throws IOException {
+        Path script = Files.createTempFile("replica", ".sql");
+        try {
+            new JdbcTemplate(dataSource).execute("SCRIPT NOSETTINGS TO '" + script + "'");
+            JdbcTemplate replica = new JdbcTemplate(REPLICA);
+            replica.execute("DROP ALL OBJECTS");
+            replica.execute("RUNSCRIPT FROM '" + script + "'");
+        } finally {
+            Files.deleteIfExists(script);
+        }
+    }
+
+    // Outside a transaction the application data source reads from the primary
+    private long tasksVersion(DataSource source) {
+        return new JdbcTemplate(source).queryForObject("SELECT tasks_version FROM users WHERE id = ?", Long.class,
+                userId);
+    }
+
+    private UUID create(String title) {
+        return taskService.createTask(TaskDto.builder().title(title).description("Description").build(), userId).getId();
+    }
+}
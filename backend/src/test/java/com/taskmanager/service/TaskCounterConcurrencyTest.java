@@ -0,0 +1,169 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.TaskDto;
+import com.taskmanager.entity.TaskStatus;
+import com.taskmanager.entity.User;
+import com.taskmanager.repository.TaskCounterRepository;
+import com.taskmanager.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class TaskCounterConcurrencyTest {
+
+    private static final int TASKS = 20;
+    private static final int THREADS = 8;
+    private static final int OPERATIONS = 800;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TaskCounterService taskCounterService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskCounterRepository taskCounterRepository;
+
+    private UUID userId;
+    private List<UUID> taskIds;
+
+    @BeforeEach
+    void setUp() {
+        User user = userService.createUser("counters-" + UUID.randomUUID().toString().substring(0, 8), "password123");
+        userId = user.getId();
+        taskIds = IntStream.range(0, TASKS)
+                .mapToObj(i -> taskService.createTask(TaskDto.builder().title("Task " + i).build(), userId).getId())
+                .collect(Collectors.toCollection(CopyOnWriteArrayList::new));
+    }
+
+    @Test
+    @DisplayName("Counters match COUNT(*) after concurrent status changes, creates and deletes")
+    void concurrentMutations_KeepCountersConsistent() throws Exception {
+        TaskStatus[] statuses = TaskStatus.values();
+        AtomicInteger succeeded = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        for (int i = 0; i < OPERATIONS; i++) {
+            executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                try {
+                    UUID taskId = taskIds.get(random.nextInt(taskIds.size()));
+                    int op = random.nextInt(10);
+                    if (op == 0) {
+                        taskService.deleteTask(taskId, userId);
+                        taskIds.remove(taskId);
+                    } else if (op == 1) {
+                        taskIds.add(taskService.createTask(TaskDto.builder()
+                                .title("Extra")
+                                .status(statuses[random.nextInt(statuses.length)])
+                                .build(), userId).getId());
+                    } else {
+                        taskService.updateTaskStatus(taskId, statuses[random.nextInt(statuses.length)], userId, null);
+                    }
+                    succeeded.incrementAndGet();
+                } catch (RuntimeException ignored) {
+                    // Deleted tasks and lock timeouts roll back cleanly; consistency is what is under test
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(2, TimeUnit.MINUTES)).isTrue();
+
+        assertThat(succeeded.get()).isGreaterThan(OPERATIONS / 2);
+        assertCountersMatchTasks();
+    }
+
+    @Test
+    @DisplayName("Reconciliation running alongside status changes neither deadlocks nor loses updates")
+    void reconcileDuringStatusChanges_DoesNotDeadlock() throws Exception {
+        TaskStatus[] statuses = TaskStatus.values();
+        List<Throwable> failures = new CopyOnWriteArrayList<>();
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        for (int t = 0; t < 2; t++) {
+            executor.submit(() -> {
+                while (running.get()) {
+                    try {
+                        taskCounterService.reconcile(userId);
+                    } catch (RuntimeException e) {
+                        failures.add(e);
+                    }
+                }
+            });
+        }
+        List<Future<?>> changes = new ArrayList<>();
+        for (int i = 0; i < OPERATIONS / 2; i++) {
+            changes.add(executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                try {
+                    taskService.updateTaskStatus(taskIds.get(random.nextInt(taskIds.size())),
+                            statuses[random.nextInt(statuses.length)], userId, null);
+                } catch (RuntimeException e) {
+                    failures.add(e);
+                }
+            }));
+        }
+        for (Future<?> change : changes) {
+            change.get(2, TimeUnit.MINUTES);
+        }
+        running.set(false);
+        executor.shutdown();
+        assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+
+        assertThat(failures).isEmpty();
+        assertCountersMatchTasks();
+    }
+
+    @Test
+    @DisplayName("Reconciliation repairs drifted counters")
+    void reconcile_RepairsDrift() {
+        taskCounterRepository.findByUserId(userId).forEach(counter -> {
+            counter.setTaskCount(counter.getTaskCount() + 7);
+            taskCounterRepository.save(counter);
+        });
+
+        int repaired = taskCounterService.reconcile(userId);
+
+        assertThat(repaired).isEqualTo(TaskStatus.values().length);
+        assertCountersMatchTasks();
+    }
+
+    private void assertCountersMatchTasks() {
+        Map<TaskStatus, Long> counts = taskCounterService.getCounts(userId);
+        Map<TaskStatus, Long> actual = taskRepository.countByUserIdGroupByStatus(userId).stream()
+                .collect(Collectors.toMap(TaskRepository.StatusCount::getStatus, TaskRepository.StatusCount::getTotal));
+        for (TaskStatus status : TaskStatus.values()) {
+            assertThat(counts.get(status))
+                    .as("counter for %s", status)
+                    .isEqualTo(actual.getOrDefault(status, 0L));
+        }
+        assertThat(taskCounterRepository.findByUserId(userId)).hasSize(TaskStatus.values().length);
+    }
+}
@@ -0,0 +1,120 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.TaskBatchOperationDto;
+import com.taskmanager.dto.TaskChangesDto;
+import com.taskmanager.dto.TaskDto;
+import com.taskmanager.entity.TaskStatus;
+import com.taskmanager.exception.CustomExceptions.ValidationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class TaskDeltaSyncTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TaskVersionService taskVersionService;
+
+    @Value("${tasks.sync.retention-ms:2592000000}")
+    private long retentionMillis;
+
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = userService.createUser("sync-" + UUID.randomUUID().toString().substring(0, 8), "password123").getId();
+    }
+
+    @Test
+    @DisplayName("Returns only tasks changed since the token and tombstones for deleted ones")
+    void getChanges_ReturnsDeltaSinceToken() {
+        UUID kept = create("Kept");
+        UUID updated = create("Updated");
+        UUID deleted = create("Deleted");
+
+        TaskChangesDto initial = taskService.getChanges(userId, null);
+        assertThat(initial.isResync()).isTrue();
+
+        taskService.updateTask(updated, TaskDto.builder().title("Renamed").build(), userId, null);
+        taskService.deleteTask(deleted, userId);
+        UUID created = create("Created");
+
+        TaskChangesDto changes = taskService.getChanges(userId, initial.getToken());
+
+        assertThat(changes.isResync()).isFalse();
+        assertThat(changes.getChanged()).extracting(TaskDto::getId).containsExactlyInAnyOrder(updated, created);
+        assertThat(changes.getChanged()).extracting(TaskDto::getId).doesNotContain(kept);
+        assertThat(changes.getDeleted()).containsExactly(deleted);
+
+        TaskChangesDto unchanged = taskService.getChanges(userId, changes.getToken());
+        assertThat(unchanged.getChanged()).isEmpty();
+        assertThat(unchanged.getDeleted()).isEmpty();
+        assertThat(unchanged.isResync()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Batch writes are stamped and batch deletes leave tombstones")
+    void getChanges_IncludesBatchOperations() {
+        UUID changed = create("Changed");
+        UUID deleted = create("Deleted");
+        String token = taskService.getChanges(userId, null).getToken();
+
+        taskService.applyBatch(List.of(
+                TaskBatchOperationDto.builder()
+                        .type(TaskBatchOperationDto.Type.STATUS)
+                        .id(changed)
+                        .status(TaskStatus.COMPLETED)
+                        .build(),
+                TaskBatchOperationDto.builder()
+                        .type(TaskBatchOperationDto.Type.DELETE)
+                        .id(deleted)
+                        .build()), userId);
+
+        TaskChangesDto changes = taskService.getChanges(userId, token);
+
+        assertThat(changes.getChanged()).extracting(TaskDto::getId).containsExactly(changed);
+        assertThat(changes.getChanged().get(0).getStatus()).isEqualTo(TaskStatus.COMPLETED);
+        assertThat(changes.getDeleted()).containsExactly(deleted);
+    }
+
+    @Test
+    @DisplayName("Tokens older than the retention window or ahead of the user ask for a full resync")
+    void getChanges_AsksForResync() {
+        create("Task");
+        long current = taskVersionService.currentVersion(userId);
+        long now = System.currentTimeMillis();
+
+        String expired = new SyncToken(current, now - retentionMillis - 1).encode();
+        String ahead = new SyncToken(current + 100, now).encode();
+
+        assertThat(taskService.getChanges(userId, expired).isResync()).isTrue();
+        assertThat(taskService.getChanges(userId, ahead).isResync()).isTrue();
+        assertThat(taskService.getChanges(userId, new SyncToken(current, now).encode()).isResync()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Rejects a malformed token")
+    void getChanges_RejectsMalformedToken() {
+        assertThatThrownBy(() -> taskService.getChanges(userId, "not-a-token"))
+                .isInstanceOf(ValidationException.class);
+    }
+
+    private UUID create(String title) {
+        return taskService.createTask(TaskDto.builder().title(title).description("Description").build(), userId).getId();
+    }
+}
@@ -0,0 +1,132 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.TaskDto;
+import com.taskmanager.dto.TaskEventDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class TaskEventBusTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private TaskEventBus bus;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        bus = new TaskEventBus(2, 60_000, 1, meterRegistry);
+        userId = UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        bus.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should deliver committed changes only to the owner's subscribers")
+    void deliversToOwnerOnly() {
+        RecordingEmitter mine = new RecordingEmitter(null);
+        RecordingEmitter other = new RecordingEmitter(null);
+        bus.subscribe(userId, mine);
+        bus.subscribe(UUID.randomUUID(), other);
+
+        UUID taskId = UUID.randomUUID();
+        bus.onTaskChanged(TaskChangedEvent.of(userId, TaskEventDto.Type.CREATED, taskId,
+                TaskDto.builder().id(taskId).title("New").build()));
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> mine.sent().contains("event:task"));
+        assertThat(mine.sent()).contains("\"type\":\"CREATED\"").contains(taskId.toString());
+        assertThat(other.sent()).doesNotContain("event:task");
+    }
+
+    @Test
+    @DisplayName("Should drop buffered events and signal resync when a subscriber falls behind")
+    void resyncsSlowSubscriber() {
+        CountDownLatch stalled = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(stalled);
+        bus.subscribe(userId, slow);
+
+        for (int i = 0; i < 5; i++) {
+            bus.onTaskChanged(TaskChangedEvent.of(userId, TaskEventDto.Type.DELETED, UUID.randomUUID(), null));
+        }
+        stalled.countDown();
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> slow.sent().contains("event:resync"));
+        assertThat(slow.sent()).doesNotContain("event:task");
+        assertThat(meterRegistry.get("tasks.stream.resyncs").counter().count()).isEqualTo(1.0);
+
+        bus.onTaskChanged(TaskChangedEvent.of(userId, TaskEventDto.Type.DELETED, UUID.randomUUID(), null));
+        await().atMost(5, TimeUnit.SECONDS).until(() -> slow.sent().contains("event:task"));
+    }
+
+    @Test
+    @DisplayName("Should forget subscribers whose connection failed")
+    void removesFailedSubscriber() {
+        RecordingEmitter broken = new RecordingEmitter(null) {
+            @Override
+            public void send(SseEventBuilder builder) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+        bus.subscribe(userId, broken);
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> bus.subscriberCount() == 0);
+    }
+
+    /**
+     * Captures what would be written to the client; optionally blocks the first write like a
+     * client that stopped reading.
+     */
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<String> writes = new CopyOnWriteArrayList<>();
+        private final CountDownLatch firstWrite;
+
+        RecordingEmitter(CountDownLatch firstWrite) {
+            this.firstWrite = firstWrite;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (firstWrite != null && writes.isEmpty()) {
+                try {
+                    firstWrite.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            writes.add(builder.build().stream()
+                    .map(part -> part.getData() instanceof String text ? text : json(part.getData()))
+                    .collect(Collectors.joining()));
+        }
+
+        String sent() {
+            return String.join("", writes);
+        }
+
+        private static String json(Object data) {
+            try {
+                return new MappingJackson2HttpMessageConverter().getObjectMapper().writeValueAsString(data);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.taskmanager.service;
+
+import com.taskmanager.entity.TaskStatus;
+import com.taskmanager.entity.User;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.OutputStream;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Exports far more tasks than would fit in the heap if they were materialized as a list.
+ * Runs in its own surefire execution with a small -Xmx (see the bounded-heap execution in pom.xml).
+ */
+@Tag("bounded-heap")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:file:./target/h2/export-bounded-heap;DB_CLOSE_ON_EXIT=FALSE",
+        "logging.level.com.taskmanager=INFO"
+})
+class TaskExportBoundedHeapTest {
+
+    private static final int TASKS = 300_000;
+    private static final long MAX_HEAP = 160L * 1024 * 1024;
+
+    @Autowired
+    private TaskExportService taskExportService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UUID userId;
+
+    @BeforeAll
+    void setUp() {
+        assumeTrue(Runtime.getRuntime().maxMemory() <= MAX_HEAP, "requires a bounded heap (-Xmx128m)");
+
+        User user = userService.createUser("export-" + UUID.randomUUID().toString().substring(0, 8), "password123");
+        userId = user.getId();
+
+        LocalDateTime start = LocalDateTime.now().minusDays(1);
+        List<Object[]> rows = new ArrayList<>(10_000);
+        for (int i = 0; i < TASKS; i++) {
+            Timestamp createdAt = Timestamp.valueOf(start.plusNanos(i * 1_000L));
+            rows.add(new Object[]{UUID.randomUUID(), "Task " + i, "Description for task number " + i,
+                    TaskStatus.TODO.name(), createdAt, createdAt, userId});
+            if (rows.size() == 10_000) {
+                insert(rows);
+                rows.clear();
+            }
+        }
+        insert(rows);
+    }
+
+    @Test
+    @DisplayName("NDJSON export of 300k tasks completes within a 128 MB heap")
+    void export_StreamsWithinBoundedHeap() throws Exception {
+        LineCountingOutputStream out = new LineCountingOutputStream();
+
+        long exported = taskExportService.export(userId, TaskExportFormat.NDJSON, out);
+
+        assertThat(exported).isEqualTo(TASKS);
+        assertThat(out.lines).isEqualTo(TASKS);
+    }
+
+    @Test
+    @DisplayName("CSV export of 300k tasks completes within a 128 MB heap")
+    void exportCsv_StreamsWithinBoundedHeap() throws Exception {
+        LineCountingOutputStream out = new LineCountingOutputStream();
+
+        long exported = taskExportService.export(userId, TaskExportFormat.CSV, out);
+
+        assertThat(exported).isEqualTo(TASKS);
+        assertThat(out.lines).isEqualTo(TASKS + 1);
+    }
+
+    private void insert(List<Object[]> rows) {
+        jdbcTemplate.batchUpdate("INSERT INTO tasks (id, title, description, status, created_at, updated_at, user_id) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    private static class LineCountingOutputStream extends OutputStream {
+        private long lines;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n') {
+                    lines++;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.TaskDto;
+import com.taskmanager.entity.TaskStatus;
+import com.taskmanager.exception.CustomExceptions.TaskVersionMismatchException;
+import com.taskmanager.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class TaskOptimisticLockingTest {
+
+    private static final int THREADS = 8;
+    private static final int INCREMENTS_PER_THREAD = 50;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TaskCounterService taskCounterService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private UUID userId;
+    private UUID taskId;
+
+    @BeforeEach
+    void setUp() {
+        userId = userService.createUser("versions-" + UUID.randomUUID().toString().substring(0, 8), "password123").getId();
+        taskId = taskService.createTask(TaskDto.builder().title("Counter").description("0").build(), userId).getId();
+    }
+
+    @Test
+    @DisplayName("Concurrent read-modify-write cycles with If-Match lose no updates")
+    void concurrentConditionalUpdates_LoseNothing() throws Exception {
+        TaskStatus[] statuses = TaskStatus.values();
+        AtomicInteger conflicts = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> workers = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            workers.add(executor.submit(() -> {
+                for (int i = 0; i < INCREMENTS_PER_THREAD; i++) {
+                    while (true) {
+                        TaskDto current = taskService.getTaskById(taskId, userId);
+                        int value = Integer.parseInt(current.getDescription());
+                        TaskDto change = TaskDto.builder()
+                                .title(current.getTitle())
+                                .description(String.valueOf(value + 1))
+                                .status(statuses[(value + 1) % statuses.length])
+                                .build();
+                        try {
+                            taskService.updateTask(taskId, change, userId, current.getVersion());
+                            break;
+                        } catch (TaskVersionMismatchException e) {
+                            conflicts.incrementAndGet();
+                        }
+                    }
+                }
+            }));
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(2, TimeUnit.MINUTES)).isTrue();
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+
+        int expected = THREADS * INCREMENTS_PER_THREAD;
+        TaskDto result = taskService.getTaskById(taskId, userId);
+        assertThat(result.getDescription()).isEqualTo(String.valueOf(expected));
+        assertThat(result.getVersion()).isEqualTo(expected);
+        assertThat(conflicts.get()).as("contention was exercised").isPositive();
+
+        Map<TaskStatus, Long> counts = taskCounterService.getCounts(userId);
+        Map<TaskStatus, Long> actual = taskRepository.countByUserIdGroupByStatus(userId).stream()
+                .collect(Collectors.toMap(TaskRepository.StatusCount::getStatus, TaskRepository.StatusCount::getTotal));
+        for (TaskStatus status : statuses) {
+            assertThat(counts.get(status)).isEqualTo(actual.getOrDefault(status, 0L));
+        }
+    }
+
+    @Test
+    @DisplayName("A stale version is rejected and leaves the task unchanged")
+    void staleVersion_IsRejected() {
+        TaskDto original = taskService.getTaskById(taskId, userId);
+        taskService.updateTaskStatus(taskId, TaskStatus.IN_PROGRESS, userId, original.getVersion());
+
+        assertThatThrownBy(() -> taskService.updateTaskStatus(taskId, TaskStatus.COMPLETED, userId, original.getVersion()))
+                .isInstanceOf(TaskVersionMismatchException.class);
+
+        TaskDto current = taskService.getTaskById(taskId, userId);
+        assertThat(current.getStatus()).isEqualTo(TaskStatus.IN_PROGRESS);
+        assertThat(current.getVersion()).isEqualTo(original.getVersion() + 1);
+    }
+}
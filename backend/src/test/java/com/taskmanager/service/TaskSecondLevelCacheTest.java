@@ -0,0 +1,115 @@
+package com.taskmanager.service;
+
+import com.taskmanager.config.QueryCountingDataSource;
+import com.taskmanager.dto.TaskDto;
+import com.taskmanager.entity.TaskStatus;
+import com.taskmanager.exception.CustomExceptions.TaskNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class TaskSecondLevelCacheTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private String username;
+    private UUID userId;
+    private UUID taskId;
+
+    @BeforeEach
+    void setUp() {
+        username = "cached-" + UUID.randomUUID().toString().substring(0, 8);
+        userId = userService.createUser(username, "password123").getId();
+        taskId = taskService.createTask(TaskDto.builder().title("Cached").description("Hot row").build(), userId).getId();
+    }
+
+    @Test
+    @DisplayName("Repeated reads of a task are served without a query")
+    void getTaskById_ServedFromCache() {
+        taskService.getTaskById(taskId, userId);
+
+        assertThat(statements(() -> taskService.getTaskById(taskId, userId))).isZero();
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "tasks").tag("result", "hit")
+                .functionCounter().count()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Repeated logins resolve the username without a query")
+    void findByUsername_ServedFromCache() {
+        userService.findByUsername(username);
+
+        assertThat(statements(() -> userService.findByUsername(username))).isZero();
+    }
+
+    @Test
+    @DisplayName("Status updates and If-Match updates written with JDBC are visible to the next read")
+    void jdbcWrites_InvalidateCachedTask() {
+        TaskDto cached = taskService.getTaskById(taskId, userId);
+
+        taskService.updateTaskStatus(taskId, TaskStatus.IN_PROGRESS, userId, null);
+        assertThat(taskService.getTaskById(taskId, userId).getStatus()).isEqualTo(TaskStatus.IN_PROGRESS);
+
+        taskService.updateTask(taskId, TaskDto.builder().title("Renamed").build(), userId, cached.getVersion() + 1);
+        TaskDto reread = taskService.getTaskById(taskId, userId);
+        assertThat(reread.getTitle()).isEqualTo("Renamed");
+        assertThat(reread.getVersion()).isEqualTo(cached.getVersion() + 2);
+    }
+
+    @Test
+    @DisplayName("A deleted task is not served from the cache")
+    void delete_InvalidatesCachedTask() {
+        taskService.getTaskById(taskId, userId);
+
+        taskService.deleteTask(taskId, userId);
+
+        assertThatThrownBy(() -> taskService.getTaskById(taskId, userId))
+                .isInstanceOf(TaskNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("A bulk JPQL update invalidates cached tasks")
+    void bulkJpqlUpdate_InvalidatesCachedTask() {
+        taskService.getTaskById(taskId, userId);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> entityManager
+                .createQuery("UPDATE Task t SET t.title = :title WHERE t.id = :id")
+                .setParameter("title", "Bulk")
+                .setParameter("id", taskId)
+                .executeUpdate());
+
+        assertThat(taskService.getTaskById(taskId, userId).getTitle()).isEqualTo("Bulk");
+    }
+
+    private static int statements(Supplier<?> call) {
+        try (QueryCountingDataSource.Scope queries = QueryCountingDataSource.count()) {
+            call.get();
+            return queries.statements();
+        }
+    }
+}
@@ -1,29 +1,42 @@
 package com.taskmanager.service;
 
+import com.taskmanager.dto.TaskBatchOperationDto;
+import com.taskmanager.dto.TaskBatchResultDto;
 import com.taskmanager.dto.TaskDto;
+import com.taskmanager.dto.TaskEventDto;
+import com.taskmanager.dto.TaskPageDto;
 import com.taskmanager.dto.TaskStatsDto;
 import com.taskmanager.entity.Task;
 import com.taskmanager.entity.TaskStatus;
 import com.taskmanager.entity.User;
 import com.taskmanager.exception.CustomExceptions.TaskNotFoundException;
+import com.taskmanager.exception.CustomExceptions.TaskVersionMismatchException;
+import com.taskmanager.exception.CustomExceptions.ValidationException;
+import com.taskmanager.repository.TaskMutationRepository;
 import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.repository.TaskSearchRepository;
 import com.taskmanager.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,6 +48,15 @@ class TaskServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private TaskCounterService taskCounterService;
+
+    @Mock
+    private TaskVersionService taskVersionService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private TaskService taskService;
 
@@ -42,6 +64,7 @@ class TaskServiceTest {
     private UUID taskId;
     private User user;
     private Task task;
+    private TaskDto taskDto;
 
     @BeforeEach
     void setUp() {
@@ -63,26 +86,96 @@ class TaskServiceTest {
                 .createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now())
                 .build();
+
+        taskDto = new TaskDto(taskId, task.getTitle(), task.getDescription(), task.getStatus(),
+                task.getCreatedAt(), task.getUpdatedAt(), 0L);
     }
 
     @Test
     @DisplayName("Should return all tasks for a user")
     void getAllTasks_ReturnsTaskList() {
-        when(taskRepository.findByUserIdOrderByCreatedAtDesc(userId))
-                .thenReturn(List.of(task));
+        when(taskRepository.findDtosByUserId(userId))
+                .thenReturn(List.of(taskDto));
 
         List<TaskDto> result = taskService.getAllTasks(userId);
 
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getTitle()).isEqualTo("Test Task");
-        verify(taskRepository).findByUserIdOrderByCreatedAtDesc(userId);
+        verify(taskRepository).findDtosByUserId(userId);
+    }
+
+    @Test
+    @DisplayName("Should return first page with a cursor when more tasks exist")
+    void getTaskPage_ReturnsFirstPageWithCursor() {
+        TaskDto older = TaskDto.builder()
+                .id(UUID.randomUUID())
+                .title("Older Task")
+                .status(TaskStatus.TODO)
+                .createdAt(task.getCreatedAt().minusMinutes(1))
+                .build();
+        when(taskRepository.findFirstPageByUserId(eq(userId), any(Pageable.class)))
+                .thenReturn(List.of(taskDto, older));
+
+        TaskPageDto result = taskService.getTaskPage(userId, null, 1);
+
+        assertThat(result.getItems()).hasSize(1);
+        assertThat(result.getItems().get(0).getId()).isEqualTo(taskId);
+        assertThat(result.isHasMore()).isTrue();
+        assertThat(result.getNextCursor()).isEqualTo(TaskCursor.of(taskDto).encode());
+    }
+
+    @Test
+    @DisplayName("Should seek past the cursor position for subsequent pages")
+    void getTaskPage_SeeksAfterCursor() {
+        String cursor = TaskCursor.of(taskDto).encode();
+        when(taskRepository.findPageByUserIdAfter(eq(userId), eq(task.getCreatedAt()), eq(taskId), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        TaskPageDto result = taskService.getTaskPage(userId, cursor, 20);
+
+        assertThat(result.getItems()).isEmpty();
+        assertThat(result.isHasMore()).isFalse();
+        assertThat(result.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject malformed cursors")
+    void getTaskPage_ThrowsForInvalidCursor() {
+        assertThatThrownBy(() -> taskService.getTaskPage(userId, "not-a-cursor", 20))
+                .isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    @DisplayName("Should page search results with a rank cursor")
+    void searchTasks_ReturnsPageWithCursor() {
+        TaskSearchRepository.RankedTask best = new TaskSearchRepository.RankedTask(taskDto, 0.9f);
+        TaskSearchRepository.RankedTask next = new TaskSearchRepository.RankedTask(
+                TaskDto.builder().id(UUID.randomUUID()).title("Other").build(), 0.5f);
+        when(taskRepository.search(userId, "test", null, null, 2)).thenReturn(List.of(best, next));
+
+        TaskPageDto result = taskService.searchTasks(userId, " test ", null, 1);
+
+        assertThat(result.getItems()).containsExactly(taskDto);
+        assertThat(result.isHasMore()).isTrue();
+
+        when(taskRepository.search(userId, "test", 0.9f, taskId, 2)).thenReturn(List.of(next));
+        TaskPageDto second = taskService.searchTasks(userId, "test", result.getNextCursor(), 1);
+
+        assertThat(second.getItems()).extracting(TaskDto::getTitle).containsExactly("Other");
+        assertThat(second.isHasMore()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reject blank search queries")
+    void searchTasks_ThrowsForBlankQuery() {
+        assertThatThrownBy(() -> taskService.searchTasks(userId, "  ", null, 20))
+                .isInstanceOf(ValidationException.class);
     }
 
     @Test
     @DisplayName("Should return task by ID")
     void getTaskById_ReturnsTask() {
-        when(taskRepository.findByIdAndUserId(taskId, userId))
-                .thenReturn(Optional.of(task));
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
 
         TaskDto result = taskService.getTaskById(taskId, userId);
 
@@ -93,13 +186,21 @@ class TaskServiceTest {
     @Test
     @DisplayName("Should throw exception when task not found")
     void getTaskById_ThrowsWhenNotFound() {
-        when(taskRepository.findByIdAndUserId(taskId, userId))
-                .thenReturn(Optional.empty());
+        when(taskRepository.findById(taskId)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> taskService.getTaskById(taskId, userId))
                 .isInstanceOf(TaskNotFoundException.class);
     }
 
+    @Test
+    @DisplayName("Should not reveal another user's task")
+    void getTaskById_ThrowsForOtherOwner() {
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+
+        assertThatThrownBy(() -> taskService.getTaskById(taskId, UUID.randomUUID()))
+                .isInstanceOf(TaskNotFoundException.class);
+    }
+
     @Test
     @DisplayName("Should create a new task")
     void createTask_ReturnsCreatedTask() {
@@ -108,6 +209,7 @@ class TaskServiceTest {
                 .description("New Description")
                 .build();
 
+        when(taskVersionService.bump(userId)).thenReturn(5L);
         when(userRepository.getReferenceById(userId)).thenReturn(user);
         when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> {
             Task savedTask = invocation.getArgument(0);
@@ -120,59 +222,171 @@ class TaskServiceTest {
 
         assertThat(result.getTitle()).isEqualTo("New Task");
         assertThat(result.getStatus()).isEqualTo(TaskStatus.TODO);
-        verify(taskRepository).save(any(Task.class));
+        verify(taskRepository).save(argThat((Task saved) -> saved.getChangeSeq() == 5L));
+        verify(taskCounterService).taskCreated(userId, TaskStatus.TODO);
+        verify(taskVersionService).bump(userId);
     }
 
     @Test
-    @DisplayName("Should update an existing task")
+    @DisplayName("Should update with a version-conditioned UPDATE and bump the user version after it")
     void updateTask_ReturnsUpdatedTask() {
         TaskDto updateDto = TaskDto.builder()
                 .title("Updated Title")
                 .description("Updated Description")
                 .status(TaskStatus.IN_PROGRESS)
                 .build();
+        TaskDto updated = new TaskDto(taskId, "Updated Title", "Updated Description", TaskStatus.IN_PROGRESS,
+                task.getCreatedAt(), LocalDateTime.now(), 1L);
+        when(taskRepository.updateReturning(eq(taskId), eq(userId), eq(0L), eq("Updated Title"),
+                eq("Updated Description"), eq(TaskStatus.IN_PROGRESS), any()))
+                .thenReturn(Optional.of(new TaskMutationRepository.StatusUpdate(updated, TaskStatus.TODO)));
+        when(taskVersionService.bump(userId)).thenReturn(6L);
 
-        when(taskRepository.findByIdAndUserId(taskId, userId))
-                .thenReturn(Optional.of(task));
-        when(taskRepository.save(any(Task.class))).thenReturn(task);
-
-        TaskDto result = taskService.updateTask(taskId, updateDto, userId);
+        TaskDto result = taskService.updateTask(taskId, updateDto, userId, 0L);
 
         assertThat(result.getTitle()).isEqualTo("Updated Title");
-        verify(taskRepository).save(task);
+        assertThat(result.getVersion()).isEqualTo(1L);
+        InOrder order = inOrder(taskRepository, taskVersionService);
+        order.verify(taskRepository).updateReturning(eq(taskId), eq(userId), eq(0L), any(), any(), any(), any());
+        order.verify(taskVersionService).bump(userId);
+        order.verify(taskRepository).recordChange(taskId, 6L);
+        verify(taskCounterService).statusChanged(userId, TaskStatus.TODO, TaskStatus.IN_PROGRESS);
     }
 
     @Test
-    @DisplayName("Should update task status only")
+    @DisplayName("Should update task status in one statement and adjust counters from the replaced status")
     void updateTaskStatus_ReturnsUpdatedTask() {
-        when(taskRepository.findByIdAndUserId(taskId, userId))
-                .thenReturn(Optional.of(task));
-        when(taskRepository.save(any(Task.class))).thenReturn(task);
+        TaskDto updated = new TaskDto(taskId, task.getTitle(), task.getDescription(), TaskStatus.COMPLETED,
+                task.getCreatedAt(), LocalDateTime.now(), 1L);
+        when(taskRepository.updateStatusReturning(eq(taskId), eq(userId), eq(TaskStatus.COMPLETED), eq(null), any()))
+                .thenReturn(Optional.of(new TaskMutationRepository.StatusUpdate(updated, TaskStatus.TODO)));
+        when(taskVersionService.bump(userId)).thenReturn(7L);
+
+        TaskDto result = taskService.updateTaskStatus(taskId, TaskStatus.COMPLETED, userId, null);
+
+        assertThat(result.getStatus()).isEqualTo(TaskStatus.COMPLETED);
+        assertThat(result.getVersion()).isEqualTo(1L);
+        verify(taskRepository).recordChange(taskId, 7L);
+        verify(taskCounterService).statusChanged(userId, TaskStatus.TODO, TaskStatus.COMPLETED);
+        verify(eventPublisher).publishEvent(new TaskChangedEvent(userId,
+                List.of(new TaskEventDto(TaskEventDto.Type.STATUS_CHANGED, taskId, updated))));
+    }
 
-        TaskDto result = taskService.updateTaskStatus(taskId, TaskStatus.COMPLETED, userId);
+    @Test
+    @DisplayName("Should throw when a status update matches no task")
+    void updateTaskStatus_ThrowsWhenNotFound() {
+        when(taskRepository.updateStatusReturning(eq(taskId), eq(userId), eq(TaskStatus.COMPLETED), eq(null), any()))
+                .thenReturn(Optional.empty());
 
-        assertThat(task.getStatus()).isEqualTo(TaskStatus.COMPLETED);
-        verify(taskRepository).save(task);
+        assertThatThrownBy(() -> taskService.updateTaskStatus(taskId, TaskStatus.COMPLETED, userId, null))
+                .isInstanceOf(TaskNotFoundException.class);
+        verifyNoInteractions(taskVersionService, taskCounterService, eventPublisher);
     }
 
     @Test
-    @DisplayName("Should delete a task")
+    @DisplayName("Should reject a status update conditioned on a stale version")
+    void updateTaskStatus_ThrowsForStaleVersion() {
+        when(taskRepository.updateStatusReturning(eq(taskId), eq(userId), eq(TaskStatus.COMPLETED), eq(3L), any()))
+                .thenReturn(Optional.empty());
+        when(taskRepository.existsByIdAndUserId(taskId, userId)).thenReturn(true);
+
+        assertThatThrownBy(() -> taskService.updateTaskStatus(taskId, TaskStatus.COMPLETED, userId, 3L))
+                .isInstanceOf(TaskVersionMismatchException.class);
+    }
+
+    @Test
+    @DisplayName("Should fail the precondition without bumping the user version when the version is stale")
+    void updateTask_ThrowsForStaleVersion() {
+        when(taskRepository.updateReturning(eq(taskId), eq(userId), eq(3L), any(), any(), any(), any()))
+                .thenReturn(Optional.empty());
+        when(taskRepository.existsByIdAndUserId(taskId, userId)).thenReturn(true);
+
+        assertThatThrownBy(() -> taskService.updateTask(taskId, taskDto, userId, 3L))
+                .isInstanceOf(TaskVersionMismatchException.class);
+        verifyNoInteractions(taskVersionService, taskCounterService);
+    }
+
+    @Test
+    @DisplayName("Should report a missing task when an unconditioned update matches no row")
+    void updateTask_ThrowsWhenUpdateMatchesNothing() {
+        TaskDto change = TaskDto.builder().title("Mine").description("Desc").build();
+        when(taskRepository.updateReturning(eq(taskId), eq(userId), eq(null), eq("Mine"), eq("Desc"), eq(null), any()))
+                .thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> taskService.updateTask(taskId, change, userId, null))
+                .isInstanceOf(TaskNotFoundException.class);
+        verify(taskRepository, never()).existsByIdAndUserId(any(), any());
+        verifyNoInteractions(taskVersionService, taskCounterService);
+    }
+
+    @Test
+    @DisplayName("Should delete a task and record its tombstone with the bumped version")
     void deleteTask_DeletesSuccessfully() {
-        when(taskRepository.findByIdAndUserId(taskId, userId))
-                .thenReturn(Optional.of(task));
+        when(taskRepository.deleteReturningStatus(taskId, userId)).thenReturn(Optional.of(TaskStatus.TODO));
+        when(taskVersionService.bump(userId)).thenReturn(9L);
 
         taskService.deleteTask(taskId, userId);
 
-        verify(taskRepository).delete(task);
+        verify(taskCounterService).taskDeleted(userId, TaskStatus.TODO);
+        verify(taskRepository).recordDeletes(eq(userId), eq(List.of(taskId)), eq(9L), any());
+    }
+
+    @Test
+    @DisplayName("Should throw when deleting a task that does not exist")
+    void deleteTask_ThrowsWhenNotFound() {
+        when(taskRepository.deleteReturningStatus(taskId, userId)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> taskService.deleteTask(taskId, userId))
+                .isInstanceOf(TaskNotFoundException.class);
+        verifyNoInteractions(taskVersionService, taskCounterService);
+    }
+
+    @Test
+    @DisplayName("Should apply a batch with per-item results and net counter changes")
+    void applyBatch_ReportsPerItemResults() {
+        UUID missingId = UUID.randomUUID();
+        List<TaskBatchOperationDto> operations = List.of(
+                TaskBatchOperationDto.builder()
+                        .type(TaskBatchOperationDto.Type.CREATE)
+                        .task(TaskDto.builder().title("Batch Task").build())
+                        .build(),
+                TaskBatchOperationDto.builder()
+                        .type(TaskBatchOperationDto.Type.STATUS)
+                        .id(taskId)
+                        .status(TaskStatus.COMPLETED)
+                        .build(),
+                TaskBatchOperationDto.builder()
+                        .type(TaskBatchOperationDto.Type.DELETE)
+                        .id(missingId)
+                        .build());
+
+        when(taskVersionService.bump(userId)).thenReturn(4L);
+        when(taskRepository.findLockedByIdInAndUserId(any(), eq(userId))).thenReturn(List.of(task));
+        when(userRepository.getReferenceById(userId)).thenReturn(user);
+        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> {
+            Task savedTask = invocation.getArgument(0);
+            savedTask.setId(UUID.randomUUID());
+            return savedTask;
+        });
+
+        List<TaskBatchResultDto> results = taskService.applyBatch(operations, userId);
+
+        assertThat(results).extracting(TaskBatchResultDto::isSuccess).containsExactly(true, true, false);
+        assertThat(results.get(1).getTask().getStatus()).isEqualTo(TaskStatus.COMPLETED);
+        assertThat(results.get(2).getError().getCode()).isEqualTo("TASK_NOT_FOUND");
+        assertThat(task.getChangeSeq()).isEqualTo(4L);
+        verify(taskRepository).flush();
+        verify(taskRepository).recordDeletes(eq(userId), eq(List.of()), eq(4L), any());
+        verify(taskCounterService).applyDeltas(userId, Map.of(TaskStatus.TODO, 0L, TaskStatus.COMPLETED, 1L));
     }
 
     @Test
     @DisplayName("Should return task statistics")
     void getTaskStats_ReturnsStats() {
-        when(taskRepository.countByUserIdAndStatus(userId, TaskStatus.TODO)).thenReturn(5L);
-        when(taskRepository.countByUserIdAndStatus(userId, TaskStatus.IN_PROGRESS)).thenReturn(3L);
-        when(taskRepository.countByUserIdAndStatus(userId, TaskStatus.COMPLETED)).thenReturn(10L);
-        when(taskRepository.countByUserId(userId)).thenReturn(18L);
+        when(taskCounterService.getCounts(userId)).thenReturn(Map.of(
+                TaskStatus.TODO, 5L,
+                TaskStatus.IN_PROGRESS, 3L,
+                TaskStatus.COMPLETED, 10L));
 
         TaskStatsDto result = taskService.getTaskStats(userId);
 
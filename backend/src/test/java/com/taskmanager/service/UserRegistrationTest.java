@@ -0,0 +1,94 @@
+package com.taskmanager.service;
+
+import com.taskmanager.config.QueryCountingDataSource;
+import com.taskmanager.entity.User;
+import com.taskmanager.exception.CustomExceptions.UserNotFoundException;
+import com.taskmanager.exception.CustomExceptions.UsernameAlreadyExistsException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class UserRegistrationTest {
+
+    @Autowired
+    private UserService userService;
+
+    private String username;
+
+    @BeforeEach
+    void setUp() {
+        username = "reg-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @Test
+    @DisplayName("Registration inserts the user and its counters and can be logged into")
+    void createUser_InsertsUser() {
+        User created = userService.createUser(username, "password123");
+
+        User found = userService.findByUsername(username);
+        assertThat(found.getId()).isEqualTo(created.getId());
+        assertThat(userService.checkPassword(found, "password123")).isTrue();
+    }
+
+    @Test
+    @DisplayName("A taken username is refused without hashing or querying again")
+    void createUser_RejectsTakenUsername() {
+        userService.createUser(username, "password123");
+
+        try (QueryCountingDataSource.Scope queries = QueryCountingDataSource.count()) {
+            assertThatThrownBy(() -> userService.createUser(username, "password456"))
+                    .isInstanceOf(UsernameAlreadyExistsException.class);
+            assertThat(queries.statements()).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("Concurrent registrations of one username create exactly one user")
+    void createUser_ConcurrentRegistrations() {
+        CountDownLatch start = new CountDownLatch(1);
+        List<CompletableFuture<Boolean>> attempts = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            attempts.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    start.await();
+                    userService.createUser(username, "password123");
+                    return true;
+                } catch (UsernameAlreadyExistsException e) {
+                    return false;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+
+        assertThat(attempts.stream().map(CompletableFuture::join).filter(Boolean::booleanValue)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Unknown usernames are answered from the cache until they are registered")
+    void findByUsername_CachesUnknownUsernames() {
+        assertThatThrownBy(() -> userService.findByUsername(username)).isInstanceOf(UserNotFoundException.class);
+
+        try (QueryCountingDataSource.Scope queries = QueryCountingDataSource.count()) {
+            assertThatThrownBy(() -> userService.findByUsername(username)).isInstanceOf(UserNotFoundException.class);
+            assertThat(queries.statements()).isZero();
+        }
+
+        userService.createUser(username, "password123");
+        assertThat(userService.findByUsername(username).getUsername()).isEqualTo(username);
+    }
+}
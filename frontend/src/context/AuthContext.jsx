@@ -18,8 +18,9 @@ export function AuthProvider({ children }) {
 
   const login = async (username, password) => {
     const response = await authApi.login(username, password);
-    const { token, username: userName } = response.data.data;
+    const { token, refreshToken, username: userName } = response.data.data;
     localStorage.setItem('token', token);
+    localStorage.setItem('refreshToken', refreshToken);
     localStorage.setItem('user', JSON.stringify({ username: userName }));
     setUser({ username: userName });
     return response.data;
@@ -27,15 +28,22 @@ export function AuthProvider({ children }) {
 
   const register = async (username, password) => {
     const response = await authApi.register(username, password);
-    const { token, username: userName } = response.data.data;
+    const { token, refreshToken, username: userName } = response.data.data;
     localStorage.setItem('token', token);
+    localStorage.setItem('refreshToken', refreshToken);
     localStorage.setItem('user', JSON.stringify({ username: userName }));
     setUser({ username: userName });
     return response.data;
   };
 
   const logout = () => {
+    const refreshToken = localStorage.getItem('refreshToken');
+    if (refreshToken) {
+      // Best effort: the session ends locally whether or not the server could be reached
+      authApi.logout(refreshToken).catch(() => {});
+    }
     localStorage.removeItem('token');
+    localStorage.removeItem('refreshToken');
     localStorage.removeItem('user');
     setUser(null);
   };
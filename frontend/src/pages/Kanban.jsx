@@ -12,7 +12,7 @@ import {
 } from '@mui/material';
 import { Delete as DeleteIcon, Edit as EditIcon } from '@mui/icons-material';
 import { DragDropContext, Droppable, Draggable } from '@hello-pangea/dnd';
-import { taskApi } from '../services/api';
+import { taskApi, applyTaskEvent } from '../services/api';
 import TaskForm from '../components/TaskForm';
 
 const columns = {
@@ -36,6 +36,12 @@ const columns = {
   },
 };
 
+const groupByStatus = (allTasks) => ({
+  TODO: allTasks.filter((t) => t.status === 'TODO'),
+  IN_PROGRESS: allTasks.filter((t) => t.status === 'IN_PROGRESS'),
+  COMPLETED: allTasks.filter((t) => t.status === 'COMPLETED'),
+});
+
 function Kanban() {
   const [tasks, setTasks] = useState({
     TODO: [],
@@ -51,15 +57,7 @@ function Kanban() {
     try {
       setLoading(true);
       const response = await taskApi.getAll();
-      const allTasks = response.data.data;
-
-      const grouped = {
-        TODO: allTasks.filter((t) => t.status === 'TODO'),
-        IN_PROGRESS: allTasks.filter((t) => t.status === 'IN_PROGRESS'),
-        COMPLETED: allTasks.filter((t) => t.status === 'COMPLETED'),
-      };
-
-      setTasks(grouped);
+      setTasks(groupByStatus(response.data.data));
       setError('');
     } catch (err) {
       setError('Failed to load tasks');
@@ -70,6 +68,11 @@ function Kanban() {
 
   useEffect(() => {
     fetchTasks();
+    return taskApi.subscribe({
+      onTask: (event) =>
+        setTasks((prev) => groupByStatus(applyTaskEvent(Object.values(prev).flat(), event))),
+      onResync: fetchTasks,
+    });
   }, []);
 
   const handleDragEnd = async (result) => {
@@ -109,9 +112,16 @@ function Kanban() {
       }));
 
       try {
-        await taskApi.updateStatus(draggableId, destColumn);
+        const response = await taskApi.updateStatus(draggableId, destColumn, movedTask.version);
+        const saved = response.data.data;
+        setTasks((prev) => ({
+          ...prev,
+          [destColumn]: prev[destColumn].map((task) => (task.id === saved.id ? saved : task)),
+        }));
       } catch (err) {
-        setError('Failed to update task status');
+        setError(err.response?.status === 412
+          ? 'Task was changed elsewhere, reloaded latest version'
+          : 'Failed to update task status');
         fetchTasks();
       }
     }
@@ -124,10 +134,12 @@ function Kanban() {
 
   const handleUpdateTask = async (taskData) => {
     try {
-      await taskApi.update(editingTask.id, taskData);
+      const response = await taskApi.update(editingTask.id, taskData, editingTask.version);
+      const saved = response.data.data;
+      setTasks((prev) => groupByStatus(applyTaskEvent(Object.values(prev).flat(),
+        { type: 'UPDATED', taskId: saved.id, task: saved })));
       setEditingTask(null);
       setFormOpen(false);
-      fetchTasks();
     } catch (err) {
       setError('Failed to update task');
     }
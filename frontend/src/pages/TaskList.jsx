@@ -18,7 +18,7 @@ import {
 import { Add as AddIcon } from '@mui/icons-material';
 import TaskCard from '../components/TaskCard';
 import TaskForm from '../components/TaskForm';
-import { taskApi } from '../services/api';
+import { taskApi, applyTaskEvent } from '../services/api';
 
 function TaskList() {
   const [tasks, setTasks] = useState([]);
@@ -45,6 +45,11 @@ function TaskList() {
 
   useEffect(() => {
     fetchTasks();
+    // Keeps this tab in step with changes made from other tabs and devices
+    return taskApi.subscribe({
+      onTask: (event) => setTasks((prev) => applyTaskEvent(prev, event)),
+      onResync: fetchTasks,
+    });
   }, []);
 
   useEffect(() => {
@@ -20,12 +20,50 @@ api.interceptors.request.use(
   (error) => Promise.reject(error)
 );
 
+const clearSession = () => {
+  localStorage.removeItem('token');
+  localStorage.removeItem('refreshToken');
+  localStorage.removeItem('user');
+};
+
+// Refresh tokens rotate on use, so concurrent 401s share one refresh: a second refresh with the
+// same token would look like a stolen token and revoke the session
+let refreshing = null;
+
+export const refreshAccessToken = () => {
+  if (!refreshing) {
+    const refreshToken = localStorage.getItem('refreshToken');
+    refreshing = (refreshToken
+      ? axios.post(`${API_BASE_URL}/auth/refresh`, { refreshToken }).then((response) => {
+          const { token, refreshToken: rotated } = response.data.data;
+          localStorage.setItem('token', token);
+          localStorage.setItem('refreshToken', rotated);
+          return token;
+        })
+      : Promise.reject(new Error('No refresh token'))
+    ).finally(() => {
+      refreshing = null;
+    });
+  }
+  return refreshing;
+};
+
 api.interceptors.response.use(
   (response) => response,
-  (error) => {
-    if (error.response?.status === 401) {
-      localStorage.removeItem('token');
-      localStorage.removeItem('user');
+  async (error) => {
+    const { config, response } = error;
+    if (response?.status === 401 && config && !config.retried && !config.url?.startsWith('/auth/')) {
+      try {
+        const token = await refreshAccessToken();
+        config.retried = true;
+        config.headers.Authorization = `Bearer ${token}`;
+        return api(config);
+      } catch (refreshError) {
+        // Fall through to a fresh login
+      }
+    }
+    if (response?.status === 401 && !config?.url?.startsWith('/auth/')) {
+      clearSession();
       window.location.href = '/login';
     }
     return Promise.reject(error);
@@ -37,16 +75,86 @@ export const authApi = {
     api.post('/auth/register', { username, password }),
   login: (username, password) =>
     api.post('/auth/login', { username, password }),
+  logout: (refreshToken) => api.post('/auth/logout', { refreshToken }),
 };
 
+// Conditions a write on the version the client last saw; a stale version is rejected with 412
+const ifMatch = (version) => (version == null ? {} : { headers: { 'If-Match': `"${version}"` } });
+
 export const taskApi = {
   getAll: () => api.get('/tasks'),
+  getPage: (limit, cursor) => api.get('/tasks', { params: { limit, cursor } }),
+  search: (q, limit, cursor) => api.get('/tasks/search', { params: { q, limit, cursor } }),
   getById: (id) => api.get(`/tasks/${id}`),
   create: (task) => api.post('/tasks', task),
-  update: (id, task) => api.put(`/tasks/${id}`, task),
-  updateStatus: (id, status) => api.patch(`/tasks/${id}/status`, { status }),
+  update: (id, task, version) => api.put(`/tasks/${id}`, task, ifMatch(version)),
+  updateStatus: (id, status, version) => api.patch(`/tasks/${id}/status`, { status }, ifMatch(version)),
   delete: (id) => api.delete(`/tasks/${id}`),
   getStats: () => api.get('/tasks/stats'),
+  subscribe: (handlers) => subscribeToTasks(handlers),
+};
+
+// Reads the /tasks/stream change feed; fetch rather than EventSource so the JWT rides in a header.
+// 'task' events carry { type, taskId, task }; 'resync' means events were dropped and the list must
+// be refetched. Returns a function that closes the stream.
+const subscribeToTasks = ({ onTask, onResync }) => {
+  const controller = new AbortController();
+
+  const connect = async () => {
+    const open = (token) =>
+      fetch(`${API_BASE_URL}/tasks/stream`, {
+        headers: { Accept: 'text/event-stream', ...(token && { Authorization: `Bearer ${token}` }) },
+        signal: controller.signal,
+      });
+    let response = await open(localStorage.getItem('token'));
+    if (response.status === 401) {
+      // Access tokens are short-lived; a reconnect after a long idle period needs a fresh one
+      response = await open(await refreshAccessToken());
+    }
+    if (!response.ok) {
+      throw new Error(`Task stream failed: ${response.status}`);
+    }
+    const reader = response.body.pipeThrough(new TextDecoderStream()).getReader();
+    let buffer = '';
+    for (;;) {
+      const { value, done } = await reader.read();
+      if (done) return;
+      buffer += value;
+      let boundary;
+      while ((boundary = buffer.indexOf('\n\n')) >= 0) {
+        const frame = buffer.slice(0, boundary);
+        buffer = buffer.slice(boundary + 2);
+        const lines = frame.split('\n');
+        const name = lines.find((line) => line.startsWith('event:'))?.slice(6).trim();
+        const data = lines.filter((line) => line.startsWith('data:')).map((line) => line.slice(5)).join('\n');
+        if (name === 'task') onTask(JSON.parse(data));
+        else if (name === 'resync') onResync();
+      }
+    }
+  };
+
+  const run = async () => {
+    while (!controller.signal.aborted) {
+      try {
+        await connect();
+      } catch (err) {
+        if (controller.signal.aborted) return;
+      }
+      // Whatever happened while disconnected is unknown, so reconnect and refetch
+      await new Promise((resolve) => setTimeout(resolve, 3000));
+      if (!controller.signal.aborted) onResync();
+    }
+  };
+
+  run();
+  return () => controller.abort();
+};
+
+// Applies one change-feed event to a flat task list
+export const applyTaskEvent = (tasks, { type, taskId, task }) => {
+  if (type === 'DELETED') return tasks.filter((t) => t.id !== taskId);
+  if (tasks.some((t) => t.id === taskId)) return tasks.map((t) => (t.id === taskId ? task : t));
+  return [task, ...tasks];
 };
 
 export default api;
@@ -42,7 +42,7 @@ describe('Login', () => {
 
   it('calls login API with form data', async () => {
     authApi.login.mockResolvedValue({
-      data: { data: { token: 'test-token', username: 'testuser' } },
+      data: { data: { token: 'test-token', refreshToken: 'test-refresh', username: 'testuser' } },
     });
 
     renderWithProviders(<Login />);
@@ -62,6 +62,7 @@ describe('Login', () => {
     await waitFor(() => {
       expect(authApi.login).toHaveBeenCalledWith('testuser', 'password123');
     });
+    expect(window.localStorage.setItem).toHaveBeenCalledWith('refreshToken', 'test-refresh');
   });
 
   it('shows error message on login failure', async () => {
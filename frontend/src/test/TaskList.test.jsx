@@ -12,7 +12,9 @@ vi.mock('../services/api', () => ({
     update: vi.fn(),
     updateStatus: vi.fn(),
     delete: vi.fn(),
+    subscribe: vi.fn(() => () => {}),
   },
+  applyTaskEvent: vi.fn((tasks) => tasks),
 }));
 
 const mockTasks = [